@@ -0,0 +1,166 @@
+package com.toni.benchmarks;
+
+import com.toni.GameConfig;
+import com.toni.gamestates.PlayState;
+import com.toni.managers.GameKeys;
+import com.toni.managers.GameStateManager;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+public class AllocationCheck {
+    private static final long SEED = 3;
+    private static final float DT = 1 / 60f;
+    private static final int TREES = 20;          // Trees each world starts with
+    private static final int WOLVES = 20;         // Wolves, enough that some are always chasing
+    private static final int VISIONS = 3;         // Vision engines PlayState cycles through with V
+    private static final int PHASE = 1000;        // Warm up ticks with each vision engine before the next
+    private static final int QUIET = 3000;        // Ticks without a compile before the JIT's settled, a whole round
+    private static final int MAX_WARMUP = 100000; // Most warm up ticks before measuring anyway
+    private static final int SETTLE = 2000;       // Ticks of each measured game first, routes planned & pools filled
+    private static final int TICKS = 3000;        // Ticks measured with each vision engine
+    private static final long LIMIT = 16;         // Most bytes a single tick may allocate
+
+
+    /**
+     * Tick seeded headless stress games the player keeps steering round in loops, so the wolves patrol, chase and
+     * the player eats & plants trees, then fail if any measured tick allocated more than LIMIT bytes on the game
+     * thread. Stress games never end and every wolf casts its rays on the vision pool each tick. The drawn vision's
+     * switched on too, each engine PlayState cycles through is measured on its own fresh game.
+     * Asking the JIT for a compile allocates on the calling thread, so the check warms up on throwaway games until
+     * the JIT's gone QUIET ticks without compiling anything, measuring those ticks too since reading the counter
+     * gets compiled as well.
+     * Exits with status 1 on failure so a build can run it.
+     *
+     * @param args (String[]) - Unused
+     */
+    public static void main(String[] args){
+        Headless.start();
+
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        long thread = Thread.currentThread().getId();
+
+        // A manager that never switches states, the games are made here
+        GameConfig config = new GameConfig(SEED);
+        config.stress = true;
+        config.trees = TREES;
+        config.wolves = WOLVES;
+        GameStateManager gsm = new GameStateManager(config){
+            @Override
+            public void setGameState(int state){ }
+        };
+
+        // Warm up, a new world for each round of the vision engines, until the JIT's quiet
+        PlayState play = null;
+        long compiled = jit.getTotalCompilationTime();
+        int quiet = 0, warmup;
+        for(warmup = 0; quiet < QUIET && warmup < MAX_WARMUP; warmup++){
+            if(warmup % (VISIONS * PHASE) == 0){
+                if(play != null) play.dispose();
+                play = new PlayState(gsm);
+                play.toggleVision();
+            }
+
+            GameKeys.setKey(GameKeys.V, warmup % PHASE == 0 && warmup % (VISIONS * PHASE) != 0);
+            measure(play, warmup, threads, thread);
+
+            quiet = jit.getTotalCompilationTime() == compiled ? quiet + 1 : 0;
+            compiled = jit.getTotalCompilationTime();
+        }
+        play.dispose();
+        GameKeys.setKey(GameKeys.V, false);
+        if(quiet < QUIET){ System.out.println("The JIT was still compiling after " + MAX_WARMUP + " ticks"); }
+
+        // Measure each vision engine on a fresh world once it's settled
+        boolean failed = false;
+        for(int engine = 0; engine < VISIONS; engine++){
+            play = new PlayState(gsm);
+            select(play, engine);
+            for(int i = 0; i < SETTLE; i++){ tick(play, i); }
+
+            long total = 0, worst = 0;
+            int over = 0;
+            for(int i = 0; i < TICKS; i++){
+                long bytes = measure(play, SETTLE + i, threads, thread);
+
+                total += bytes;
+                worst = Math.max(worst, bytes);
+                if(bytes > LIMIT) over++;
+            }
+            play.dispose();
+
+            System.out.println(String.format("vision %d: %d ticks, bytes per tick avg %.1f max %d, %d over the %d "
+                    + "byte limit", engine, TICKS, total / (float)TICKS, worst, over, LIMIT));
+            failed |= over > 0;
+        }
+
+        System.out.println(String.format("Warmed up for %d ticks", warmup));
+        System.exit(failed ? 1 : 0);
+    }
+
+
+    /**
+     * Switch a game's drawn vision on and press V until it's using an engine
+     *
+     * @param play (PlayState) - Game whose vision's switched on
+     * @param engine (int)     - Index of the vision engine, 0 is the first wolf's rays
+     */
+    private static void select(PlayState play, int engine){
+        play.toggleVision();
+        for(int i = 0; i < engine; i++){
+            GameKeys.setKey(GameKeys.V, true);
+            tick(play, 2 * i);
+            GameKeys.setKey(GameKeys.V, false);
+            tick(play, 2 * i + 1);
+        }
+    }
+
+
+    /**
+     * One simulation tick with the player driving forwards & turning left now and then
+     *
+     * @param play (PlayState) - Game being ticked
+     * @param i (int)          - Number of the tick
+     */
+    private static void tick(PlayState play, int i){
+        GameKeys.setKey(GameKeys.UP, true);
+        GameKeys.setKey(GameKeys.LEFT, i % 200 < 30);
+        play.update(DT);
+        GameKeys.update();
+    }
+
+
+    /**
+     * One simulation tick, counting the bytes the game thread allocated during it
+     *
+     * @param play (PlayState)                          - Game being ticked
+     * @param i (int)                                   - Number of the tick
+     * @param threads (com.sun.management.ThreadMXBean) - Allocation counter
+     * @param thread (long)                             - Id of the game thread
+     * @return (long)                                   - Bytes allocated
+     */
+    private static long measure(PlayState play, int i, com.sun.management.ThreadMXBean threads, long thread){
+        long before = threads.getThreadAllocatedBytes(thread);
+        tick(play, i);
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+
+    /**
+     * Get the JVM's per thread allocation counter
+     *
+     * @return (com.sun.management.ThreadMXBean) - Thread bean with allocation counting switched on
+     * @throws UnsupportedOperationException      - If the JVM can't count allocated bytes per thread
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter(){
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean)){
+            throw new UnsupportedOperationException("This JVM can't count the bytes a thread allocates");
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean)bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,113 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.toni.entities.ConvexShape;
+import com.toni.entities.Player;
+import com.toni.entities.TreeField;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.TreeGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CollisionBenchmark {
+    private static final long SEED = 11;
+
+    private static final int NEAR = 0;  // Tree the player's touching
+    private static final int FAR  = 1;  // Tree nowhere near the player
+
+    private Player player;              // Player overlapping the near tree
+    private TreeField pair;             // The near & far trees
+
+
+    /**
+     * Place the player on the edge of one tree and well away from another
+     */
+    @Setup
+    public void setUp(){
+        Headless.start();
+
+        pair = new TreeField(2);
+        pair.add(300, 300, 0);
+        pair.add(800, 300, 0);
+        player = new Player();
+        player.pos().set(300 + TreeField.RADIUS, 300);
+        player.setShape();
+    }
+
+
+    @Benchmark
+    public boolean containsInside(){ return player.contains(305 + TreeField.RADIUS, 300); }
+
+
+    @Benchmark
+    public boolean containsOutside(){ return player.contains(805, 300); }
+
+
+    @Benchmark
+    public boolean intersectsHit(){ return pair.overlaps(NEAR, player.getShape()); }
+
+
+    @Benchmark
+    public boolean intersectsMiss(){ return pair.overlaps(FAR, player.getShape()); }
+
+
+    // Player-tree collision the way PlayState.checkCollision does it, should stay flat as the forest grows
+    @Benchmark
+    public int forest(Forest forest){
+        forest.nearby.clear();
+        forest.grid.query(forest.minX, forest.minY, forest.maxX, forest.maxY, forest.nearby);
+
+        int hits = 0;
+        for(int i = 0; i < forest.nearby.size; i++){
+            if(forest.field.overlaps(forest.nearby.get(i), player.getShape())) hits++;
+        }
+        return hits;
+    }
+
+
+    @State(Scope.Thread)
+    public static class Forest {
+        @Param({"10", "1000", "10000"})
+        public int trees;           // Forest size
+
+        TreeField field;            // Every tree in the forest
+        TreeGrid grid;              // Trees bucketed by cell
+        IntArray nearby;            // Trees near the player
+        float minX, minY;           // Bottom left corner of the player's bounding box
+        float maxX, maxY;           // Top right corner of the player's bounding box
+
+
+        @Setup
+        public void plant(CollisionBenchmark benchmark){
+            Headless.start();
+
+            field = Headless.plant(trees, SEED);
+            grid = new TreeGrid(new OccluderMesh(field), Headless.WIDTH, Headless.HEIGHT, 64f);
+            for(int tree = 0; tree < field.size(); tree++){ grid.add(tree); }
+            nearby = new IntArray(false, 16);
+
+            ConvexShape bounds = benchmark.player.getShape();
+            minX = bounds.getMinX();
+            minY = bounds.getMinY();
+            maxX = bounds.getMaxX();
+            maxY = bounds.getMaxY();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.toni.Game;
+import com.toni.entities.TreeField;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.util.Random;
+
+public class Headless {
+    public static final int WIDTH  = 1100; // Stage width, same as the desktop window
+    public static final int HEIGHT = 600;  // Stage height, same as the desktop window
+
+
+    /**
+     * Start libGDX without a window. Textures, sprite batches & shape renderers are backed by a GL that does
+     * nothing, so the entities can be built and updated but never draw anything. Only starts once per JVM.
+     */
+    public static synchronized void start(){
+        if(Gdx.app != null) return;
+
+        new HeadlessApplication(new ApplicationAdapter(){ }, new HeadlessApplicationConfiguration());
+        Gdx.gl = Gdx.gl20 = (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{ GL20.class },
+                new InvocationHandler(){
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args){
+                        // Every shader compiles & links
+                        if(method.getName().equals("glGetShaderiv") || method.getName().equals("glGetProgramiv")){
+                            int name = (Integer)args[1];
+                            if(name == GL20.GL_COMPILE_STATUS || name == GL20.GL_LINK_STATUS){
+                                ((IntBuffer)args[2]).put(0, 1);
+                            }
+                            return null;
+                        }
+
+                        Class<?> type = method.getReturnType();
+                        if(type == int.class) return 1;
+                        if(type == boolean.class) return false;
+                        if(type == float.class) return 0f;
+                        if(type == String.class) return "";
+                        return null;
+                    }
+                });
+
+        Game.WIDTH = WIDTH;
+        Game.HEIGHT = HEIGHT;
+    }
+
+
+    /**
+     * Plant trees at seeded random positions across the stage
+     *
+     * @param count (int) - Number of trees
+     * @param seed (long) - Seed for the positions & angles
+     * @return (TreeField) - Planted trees with ids 0 to count - 1, the same seed always gives the same forest
+     */
+    public static TreeField plant(int count, long seed){
+        Random random = new Random(seed);
+        TreeField trees = new TreeField(count);
+        for(int i = 0; i < count; i++){
+            trees.add(random.nextFloat() * WIDTH, random.nextFloat() * HEIGHT, random.nextFloat() * 6.28319f);
+        }
+        return trees;
+    }
+}
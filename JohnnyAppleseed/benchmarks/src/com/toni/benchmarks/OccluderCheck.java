@@ -0,0 +1,105 @@
+package com.toni.benchmarks;
+
+import com.toni.entities.TreeField;
+import com.toni.vision.AngularCuller;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.RayBatch;
+import com.toni.vision.RayKernel;
+import com.toni.vision.TreeGrid;
+
+import java.util.Random;
+
+public class OccluderCheck {
+    private static final long SEED = 3;
+    private static final int SCENES = 200;     // Random forests looked at
+    private static final int MIN_TREES = 50;   // Fewest trees in a forest
+    private static final int MAX_TREES = 250;  // Most trees in a forest
+    private static final int RAYS = 1024;      // Rays cast from each scene's origin, 1024 * 200 in all
+    private static final float CELL = 64f;     // Grid cell size, the same as the game's
+
+
+    /**
+     * Cast seeded rays through the merged occluder mesh with the tree grid & the angular culler, and fail unless
+     * both give exactly the u a brute force castPolygon over every tree's raw vertices gives. Half of each forest's
+     * trees are planted before the mesh is built and the rest appended, the way PlayState plants them, so the
+     * appended & grown buffers are checked too. Each ray's length is anywhere from the side length to the cone
+     * length. Exits with status 1 on failure so a build can run it as a check, the headless application would
+     * keep the JVM running either way.
+     *
+     * @param args (String[]) - Unused
+     */
+    public static void main(String[] args){
+        Headless.start();
+
+        Random random = new Random(SEED);
+        float step = 6.28319f / RAYS;
+        float extra = RayBatch.CONE_LENGTH - RayBatch.SIDE_LENGTH;
+        int hits = 0, gridWrong = 0, cullerWrong = 0;
+        for(int scene = 0; scene < SCENES; scene++){
+            TreeField field = new TreeField(0);
+            int trees = MIN_TREES + random.nextInt(MAX_TREES - MIN_TREES);
+            for(int i = 0; i < trees / 2; i++){ plant(field, random); }
+
+            OccluderMesh mesh = new OccluderMesh(field);
+            for(int i = trees / 2; i < trees; i++){ mesh.add(plant(field, random)); }
+
+            TreeGrid grid = new TreeGrid(mesh, Headless.WIDTH, Headless.HEIGHT, CELL);
+            AngularCuller culler = new AngularCuller(mesh, RAYS, RayBatch.CONE_LENGTH);
+            for(int tree = 0; tree < field.size(); tree++){
+                grid.add(tree);
+                culler.add(tree);
+            }
+
+            float ox = random.nextFloat() * Headless.WIDTH, oy = random.nextFloat() * Headless.HEIGHT;
+            culler.prepare(ox, oy);
+            for(int ray = 0; ray < RAYS; ray++){
+                float length = RayBatch.SIDE_LENGTH + random.nextFloat() * extra;
+                float dx = (float)Math.cos(ray * step) * length, dy = (float)Math.sin(ray * step) * length;
+
+                float exact = bruteForce(field, ox, oy, dx, dy);
+                if(exact != RayKernel.MISS) hits++;
+                if(Float.floatToIntBits(grid.cast(ray, ox, oy, dx, dy, RayKernel.MISS))
+                        != Float.floatToIntBits(exact)) gridWrong++;
+                if(Float.floatToIntBits(culler.cast(ray, ox, oy, dx, dy, RayKernel.MISS))
+                        != Float.floatToIntBits(exact)) cullerWrong++;
+            }
+        }
+
+        System.out.println(String.format("%d rays, %d hit a tree, %d grid casts & %d culler casts differed from a "
+                + "brute force cast over the raw vertices", SCENES * RAYS, hits, gridWrong, cullerWrong));
+        System.exit(gridWrong == 0 && cullerWrong == 0 ? 0 : 1);
+    }
+
+
+    /**
+     * Plant a tree at a random point on the stage
+     *
+     * @param field (TreeField) - Forest planted into
+     * @param random (Random)   - Source of the position & angle
+     * @return (int)            - Id of the new tree
+     */
+    private static int plant(TreeField field, Random random){
+        return field.add(random.nextFloat() * Headless.WIDTH, random.nextFloat() * Headless.HEIGHT,
+                random.nextFloat() * 6.28319f);
+    }
+
+
+    /**
+     * Cast a ray against every tree's octagon straight from the forest's vertices
+     *
+     * @param field (TreeField) - Forest cast against
+     * @param ox (float)        - x-coordinate of the ray's origin
+     * @param oy (float)        - y-coordinate of the ray's origin
+     * @param dx (float)        - x-component of the ray's vision vector
+     * @param dy (float)        - y-component of the ray's vision vector
+     * @return (float)          - Closest u, RayKernel.MISS if nothing was hit
+     */
+    private static float bruteForce(TreeField field, float ox, float oy, float dx, float dy){
+        float best = RayKernel.MISS;
+        for(int tree = 0; tree < field.size(); tree++){
+            best = RayKernel.castPolygon(field.getVerticesX(), field.getVerticesY(), tree * TreeField.VERTICES,
+                    TreeField.VERTICES, ox, oy, dx, dy, best);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,78 @@
+package com.toni.benchmarks;
+
+import com.toni.gamestates.PlayState;
+import com.toni.managers.GameKeys;
+import com.toni.managers.GameStateManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlayStateBenchmark {
+    private static final long SEED = 3;
+    private static final float DT = 1 / 60f;
+
+    private GameStateManager gsm;  // Makes the seeded games, losing or winning only marks the game ended
+    private PlayState play;        // Game being ticked
+    private boolean ended;         // Whether the game being ticked was lost or won
+    private int ticks;             // Ticks of the game being ticked
+
+
+    /**
+     * Start a seeded game whose manager only remembers a state change, so losing or winning starts a new game
+     * instead of ending the benchmark and every run ticks the same worlds
+     */
+    @Setup
+    public void setUp(){
+        Headless.start();
+
+        gsm = new GameStateManager(SEED){
+            @Override
+            public void setGameState(int state){ ended = state != PLAY; }
+        };
+        play = new PlayState(gsm);
+    }
+
+
+    @TearDown
+    public void tearDown(){
+        play.dispose();
+        GameKeys.setKey(GameKeys.UP, false);
+        GameKeys.setKey(GameKeys.LEFT, false);
+    }
+
+
+    // One simulation tick: input, player, trees, wolf AI, line of sight & collisions. The player drives forwards &
+    // turns left now and then, the way AllocationCheck steers it, so it eats & plants trees and the wolves chase it.
+    // A game that's ended is swapped for the next world first, that's rare next to the ticks between
+    @Benchmark
+    public PlayState tick(){
+        if(ended){
+            play.dispose();
+            play = new PlayState(gsm);
+            ended = false;
+            ticks = 0;
+        }
+
+        GameKeys.setKey(GameKeys.UP, true);
+        GameKeys.setKey(GameKeys.LEFT, ticks++ % 200 < 30);
+        play.update(DT);
+        GameKeys.update();
+        return play;
+    }
+}
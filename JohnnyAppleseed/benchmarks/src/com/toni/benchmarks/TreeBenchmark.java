@@ -0,0 +1,75 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.entities.GameObjects;
+import com.toni.entities.RegrowthScheduler;
+import com.toni.entities.TreeField;
+import com.toni.entities.TreeSpawner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TreeBenchmark {
+    private static final long SEED = 7;
+    private static final float DT = 1 / 60f;
+    private static final float SPACING = 6;  // Tight enough for 10000 spaced trees on the stage
+    private static final GameObjects[] NOTHING = new GameObjects[0];
+
+    @Param({"100", "1000", "10000"})
+    public int trees;                    // Forest size
+
+    private TreeField forest;            // Every tree in the forest
+    private RegrowthScheduler regrowth;  // Refills the empty trees
+
+
+    @Setup(Level.Trial)
+    public void plant(){
+        Headless.start();
+        forest = Headless.plant(trees, SEED);
+        regrowth = new RegrowthScheduler(forest);
+    }
+
+
+    /**
+     * Empty every other tree so there are deadlines waiting during each iteration
+     */
+    @Setup(Level.Iteration)
+    public void harvest(){
+        for(int i = 0; i < forest.size(); i += 2){ forest.empty(i, regrowth); }
+    }
+
+
+    // One frame of regrowth, only the trees whose deadline passed are touched
+    @Benchmark
+    public RegrowthScheduler update(){
+        regrowth.update(DT);
+        return regrowth;
+    }
+
+
+    // Plant a whole forest by Poisson-disc sampling, the time per tree should stay flat as the forest grows
+    @Benchmark
+    public TreeField spawn(){
+        TreeField field = new TreeField(trees);
+        TreeSpawner spawner = new TreeSpawner(field, new RandomXS128(SEED), Headless.WIDTH, Headless.HEIGHT, SPACING);
+        for(int i = 0; i < trees; i++){ spawner.spawn(NOTHING); }
+        return field;
+    }
+}
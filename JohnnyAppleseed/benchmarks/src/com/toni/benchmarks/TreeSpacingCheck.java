@@ -0,0 +1,88 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.entities.GameObjects;
+import com.toni.entities.TreeField;
+import com.toni.entities.TreeSpawner;
+
+import java.util.Arrays;
+
+public class TreeSpacingCheck {
+    private static final long[] SEEDS = { 1, 2, 3 };                  // Worlds planted at each spacing
+    private static final float MIN_SPACING = 8, MAX_SPACING = 60;     // Spacings checked, both ends included
+    private static final float STEP = 4;                              // Spacing added between checks
+    private static final GameObjects[] NOTHING = new GameObjects[0];  // Nothing for the trees to avoid
+
+
+    /**
+     * Fill seeded stages with trees through the spawner at every spacing from MIN_SPACING to MAX_SPACING, then
+     * check every pair of spaced trees by brute force. A spawn is spaced if the spawner still has room after it,
+     * only a fallback tree on a full stage leaves it with none. Fails if two spaced trees are closer than the
+     * spacing. Exits with status 1 on failure so a build can run it as a check, the headless application would
+     * keep the JVM running either way.
+     *
+     * @param args (String[]) - Unused
+     */
+    public static void main(String[] args){
+        Headless.start();
+
+        int failures = 0;
+        for(float spacing = MIN_SPACING; spacing <= MAX_SPACING; spacing += STEP){
+            for(long seed : SEEDS){
+                TreeField field = new TreeField(0);
+                boolean[] spaced = plant(field, seed, spacing);
+                float closest = closest(field, spaced);
+
+                System.out.println(String.format("spacing %2.0f seed %d: %5d trees, closest spaced pair %.2f",
+                        spacing, seed, field.size(), Math.sqrt(closest)));
+                if(closest < spacing * spacing) failures++;
+            }
+        }
+
+        System.out.println(failures == 0 ? "No spaced trees closer than their spacing"
+                : failures + " forests had spaced trees closer than their spacing");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+
+    /**
+     * Plant trees until the stage is full
+     *
+     * @param field (TreeField) - Empty forest planted into
+     * @param seed (long)       - Seed for the spawner
+     * @param spacing (float)   - Smallest distance between two trees' centres
+     * @return (boolean[])      - Whether each tree was placed with spacing, indexed by tree id
+     */
+    private static boolean[] plant(TreeField field, long seed, float spacing){
+        TreeSpawner spawner = new TreeSpawner(field, new RandomXS128(seed), Headless.WIDTH, Headless.HEIGHT, spacing);
+        boolean[] spaced = new boolean[16];
+        while(true){
+            int tree = spawner.spawn(NOTHING);
+            if(tree == spaced.length){ spaced = Arrays.copyOf(spaced, tree * 2); }
+            spaced[tree] = spawner.getActiveCount() > 0;
+            if(!spaced[tree]) return spaced;
+        }
+    }
+
+
+    /**
+     * Find the closest two spaced trees by checking every pair, squared the same way the spawner compares them
+     *
+     * @param field (TreeField)   - Forest checked
+     * @param spaced (boolean[])  - Whether each tree was placed with spacing
+     * @return (float)            - Squared distance between the closest two, infinity if there's fewer than two
+     */
+    private static float closest(TreeField field, boolean[] spaced){
+        float best = Float.POSITIVE_INFINITY;
+        for(int i = 0; i < field.size(); i++){
+            if(!spaced[i]) continue;
+            for(int j = i + 1; j < field.size(); j++){
+                if(!spaced[j]) continue;
+                float dx = field.getX(i) - field.getX(j);
+                float dy = field.getY(i) - field.getY(j);
+                best = Math.min(best, dx * dx + dy * dy);
+            }
+        }
+        return best;
+    }
+}
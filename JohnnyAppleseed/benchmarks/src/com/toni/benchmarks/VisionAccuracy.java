@@ -0,0 +1,92 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.components.TransformComponent;
+import com.toni.entities.Player;
+import com.toni.entities.TreeField;
+import com.toni.entities.Wolf;
+import com.toni.vision.AdaptiveRayVisionEngine;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.PolygonVisionEngine;
+import com.toni.vision.RayVisionEngine;
+import com.toni.vision.VisionEngine;
+
+import java.util.Random;
+
+public class VisionAccuracy {
+    private static final long SEED = 3;
+    private static final int SCENES = 1500;    // Random scenes looked at
+    private static final int MIN_TREES = 50;   // Fewest trees in a scene
+    private static final int MAX_TREES = 250;  // Most trees in a scene
+    private static final float REACH = 900;    // Widest the player's placed around the wolf, in either axis
+    private static final int FIXED = 1024;     // Rays of the fixed ray engine
+    private static final int BUDGET = 256;     // Default ray budget of the adaptive engine
+
+
+    /**
+     * Look for the player in seeded random scenes with the exact polygon engine, the fixed rays and the adaptive
+     * budget, then print how many of the scenes the exact engine sees the player in the ray engines find it in.
+     * The wolf & the player face random ways, the player's anywhere around the wolf. Exits once it's printed, the
+     * headless application would keep the JVM running.
+     *
+     * @param args (String[]) - Optional adaptive ray budget, 256 by default
+     */
+    public static void main(String[] args){
+        Headless.start();
+        int budget = args.length > 0 ? Integer.parseInt(args[0]) : BUDGET;
+
+        Random random = new Random(SEED);
+        int exact = 0, fixed = 0, adaptive = 0, wrong = 0;
+        for(int scene = 0; scene < SCENES; scene++){
+            TreeField field = Headless.plant(MIN_TREES + random.nextInt(MAX_TREES - MIN_TREES), random.nextLong());
+            OccluderMesh mesh = new OccluderMesh(field);
+
+            Wolf wolf = new Wolf(new RandomXS128(random.nextLong()));
+            place(wolf.getComponent(TransformComponent.class), random.nextFloat() * Headless.WIDTH,
+                    random.nextFloat() * Headless.HEIGHT, random);
+            Player player = new Player();
+            place(player.getComponent(TransformComponent.class), wolf.pos().x + (random.nextFloat() - .5f) * REACH,
+                    wolf.pos().y + (random.nextFloat() - .5f) * REACH, random);
+            player.setShape();
+
+            VisionEngine polygon = new PolygonVisionEngine(mesh);
+            VisionEngine rays = new RayVisionEngine(wolf, mesh, FIXED);
+            VisionEngine adapt = new AdaptiveRayVisionEngine(mesh, budget, Headless.WIDTH, Headless.HEIGHT);
+            for(int tree = 0; tree < field.size(); tree++){
+                polygon.add(tree);
+                rays.add(tree);
+                adapt.add(tree);
+            }
+
+            boolean seen = polygon.update(wolf, player);
+            boolean raySeen = rays.update(wolf, player);
+            boolean adaptSeen = adapt.update(wolf, player);
+            if(seen) exact++;
+            if(seen && raySeen) fixed++;
+            if(seen && adaptSeen) adaptive++;
+            if(!seen && adaptSeen) wrong++;
+
+            player.dispose();
+            wolf.dispose();
+        }
+
+        System.out.println(String.format("%d scenes, player seen in %d, found by %d fixed rays in %d, "
+                + "by a %d ray adaptive budget in %d, adaptive saw it where it can't be seen in %d",
+                SCENES, exact, FIXED, fixed, budget, adaptive, wrong));
+        System.exit(0);
+    }
+
+
+    /**
+     * Put an entity somewhere facing a random way
+     *
+     * @param transform (TransformComponent) - Entity's position & angle
+     * @param x (float)                      - x-coordinate
+     * @param y (float)                      - y-coordinate
+     * @param random (Random)                - Picks the angle
+     */
+    private static void place(TransformComponent transform, float x, float y, Random random){
+        transform.pos.set(x, y);
+        transform.radians = random.nextFloat() * 6.28319f;
+    }
+}
@@ -0,0 +1,100 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.entities.Player;
+import com.toni.entities.TreeField;
+import com.toni.entities.Wolf;
+import com.toni.vision.AdaptiveRayVisionEngine;
+import com.toni.vision.LineOfSight;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.PolygonVisionEngine;
+import com.toni.vision.RayVisionEngine;
+import com.toni.vision.TreeGrid;
+import com.toni.vision.VisionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VisionBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1", "10", "100", "1000"})
+    public int trees;                 // Number of occluders
+
+    private Wolf wolf;                // Wolf in the middle of the stage
+    private Player player;            // Player in front of the wolf
+    private RayVisionEngine rays;     // 1024 fixed rays
+    private VisionEngine polygon;     // Exact visibility polygon
+    private VisionEngine adaptive;    // Adaptive ray budget
+    private LineOfSight sight;        // Player line of sight query
+
+
+    /**
+     * Plant a seeded forest and register it with every engine
+     */
+    @Setup
+    public void setUp(){
+        Headless.start();
+
+        wolf = new Wolf(new RandomXS128(SEED));
+        wolf.pos().set(Headless.WIDTH / 2, Headless.HEIGHT / 2);
+        player = new Player();
+        player.pos().set(Headless.WIDTH / 2 - 200, Headless.HEIGHT / 2 + 40);
+        player.setShape();
+
+        TreeField field = Headless.plant(trees, SEED);
+        OccluderMesh mesh = new OccluderMesh(field);
+        rays = new RayVisionEngine(wolf, mesh, 1024);
+        polygon = new PolygonVisionEngine(mesh);
+        adaptive = new AdaptiveRayVisionEngine(mesh, 256, Headless.WIDTH, Headless.HEIGHT);
+        TreeGrid grid = new TreeGrid(mesh, Headless.WIDTH, Headless.HEIGHT, 64f);
+        sight = new LineOfSight(grid);
+        for(int tree = 0; tree < field.size(); tree++){
+            rays.add(tree);
+            polygon.add(tree);
+            adaptive.add(tree);
+            grid.add(tree);
+        }
+    }
+
+
+    // Every ray recast, what a frame costs once the wolf moves
+    @Benchmark
+    public boolean raysFull(){
+        rays.getCache().invalidateAll();
+        return rays.update(wolf, player);
+    }
+
+
+    // Nothing moved, every ray comes from the cache
+    @Benchmark
+    public boolean raysCached(){ return rays.update(wolf, player); }
+
+
+    @Benchmark
+    public boolean polygon(){ return polygon.update(wolf, player); }
+
+
+    @Benchmark
+    public boolean adaptive(){ return adaptive.update(wolf, player); }
+
+
+    @Benchmark
+    public boolean lineOfSight(){ return sight.canSee(wolf, player); }
+}
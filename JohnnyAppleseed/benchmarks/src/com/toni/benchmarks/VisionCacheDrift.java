@@ -0,0 +1,228 @@
+package com.toni.benchmarks;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Vector2;
+import com.toni.components.TransformComponent;
+import com.toni.entities.Player;
+import com.toni.entities.TreeField;
+import com.toni.entities.Wolf;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.RayBatch;
+import com.toni.vision.RayKernel;
+import com.toni.vision.RayVisionEngine;
+import com.toni.vision.TreeGrid;
+import com.toni.vision.VisionCache;
+
+import java.util.Random;
+
+public class VisionCacheDrift {
+    private static final long SEED = 5;
+    private static final float DT = 1 / 60f;
+    private static final int TREES = 150;          // Trees in the forest
+    private static final int RAYS = 1024;          // Rays of each engine, the game's default
+    private static final int FRAMES = 6000;        // Frames walked for each drift
+    private static final float WOLF_SPEED = 400;   // Wolf's top speed, pixels a second
+    private static final float WOLF_TURN = 1.9f;   // Wolf's rotation speed, radians a second
+    private static final float PLAYER_SPEED = 250; // Player's top speed, pixels a second
+    private static final float PLAYER_TURN = 4;    // Player's rotation speed, radians a second
+    private static final int PLANT = 60;           // Frames between trees planted near the wolf
+    private static final float NEAR = 150;         // Furthest from the wolf a tree's planted, pixels
+    private static final float[] DRIFTS = { 0, 1, 4, 8, 16, 32 }; // Drift allowances tried by default
+
+
+    /**
+     * Walk a wolf & the player round a seeded forest at their top speeds, the wolf stopping a second in every four
+     * like it does at the end of a patrol leg, and cast the wolf's rays through a cache for each drift allowance.
+     * Every frame is also cast without the cache, then the frames the cache reused, partly recast & fully recast are
+     * printed with the rays recast a frame, the rays drawn through a tree because the wolf drifted round its edge &
+     * the frames the cache disagreed with a full cast on seeing the player. Both turn back from the trees & the edges
+     * of the stage. A tree's planted near the wolf every PLANT frames, so the rays it covers have to be recast too.
+     * Every drift walks its own copy of the forest. Exits once it's printed, the headless application would keep the
+     * JVM running.
+     *
+     * @param args (String[]) - Optional drift allowances to try, in pixels
+     */
+    public static void main(String[] args){
+        Headless.start();
+        float[] drifts = DRIFTS;
+        if(args.length > 0){
+            drifts = new float[args.length];
+            for(int i = 0; i < args.length; i++){ drifts[i] = Float.parseFloat(args[i]); }
+        }
+
+        for(float drift : drifts){ walk(drift); }
+        System.exit(0);
+    }
+
+
+    /**
+     * Walk the same path through a freshly planted forest with the cache allowing a drift, and print how it went
+     *
+     * @param drift (float) - Distance the wolf can drift before every ray is recast
+     */
+    private static void walk(float drift){
+        TreeField field = Headless.plant(TREES, SEED);
+        OccluderMesh mesh = new OccluderMesh(field);
+        TreeGrid grid = new TreeGrid(mesh, Headless.WIDTH, Headless.HEIGHT, 64f);
+        for(int tree = 0; tree < field.size(); tree++){ grid.add(tree); }
+
+        Random random = new Random(SEED);
+        Wolf wolf = new Wolf(new RandomXS128(SEED));
+        Player player = new Player();
+        TransformComponent w = wolf.getComponent(TransformComponent.class);
+        TransformComponent p = player.getComponent(TransformComponent.class);
+        w.pos.set(clearing(field, random));
+        p.pos.set(clearing(field, random));
+
+        RayVisionEngine cached = new RayVisionEngine(wolf, mesh, RAYS);
+        RayVisionEngine fresh = new RayVisionEngine(wolf, mesh, RAYS);
+        for(int tree = 0; tree < field.size(); tree++){
+            cached.add(tree);
+            fresh.add(tree);
+        }
+        VisionCache cache = cached.getCache();
+        cache.setDrift(drift);
+
+        float wolfTurn = 0, playerTurn = 0;
+        long blocked = 0;
+        int worst = 0, disagree = 0, planted = 0;
+        for(int frame = 0; frame < FRAMES; frame++){
+            // Plant a tree between frames like the game does, after the wolf's rays were cast
+            if(frame > 0 && frame % PLANT == 0 && plant(field, random, w.pos, p.pos)){
+                int tree = field.size() - 1;
+                mesh.add(tree);
+                grid.add(tree);
+                cached.add(tree);
+                fresh.add(tree);
+                planted++;
+            }
+
+            // Turn a different way now and then, bounce off the trees & the edges of the stage
+            if(frame % 30 == 0){
+                wolfTurn = (random.nextFloat() * 2 - 1) * WOLF_TURN;
+                playerTurn = (random.nextFloat() * 2 - 1) * PLAYER_TURN;
+            }
+            boolean resting = frame % 240 >= 180;
+            step(field, w, resting ? 0 : WOLF_SPEED, wolfTurn);
+            step(field, p, PLAYER_SPEED, playerTurn);
+            player.setShape();
+
+            boolean seen = cached.update(wolf, player);
+            fresh.getCache().invalidateAll();
+            if(seen != fresh.update(wolf, player)) disagree++;
+
+            int through = 0;
+            RayBatch rays = cached.getRays();
+            for(int i = 0; i < RAYS; i++){
+                if(throughTree(grid, rays, i)) through++;
+            }
+            blocked += through;
+            worst = Math.max(worst, through);
+        }
+
+        System.out.println(String.format("drift %4.1f px: frames reused %d, partly recast %d, fully recast %d, "
+                + "%.0f rays recast a frame, %.2f rays drawn through a tree a frame & %d at worst, "
+                + "%d frames disagreed on seeing the player, %d trees planted", drift, cache.getReuseCount(),
+                cache.getPartialRecastCount(), cache.getFullRecastCount(), cache.getRecastRayCount() / (float)FRAMES,
+                blocked / (float)FRAMES, worst, disagree, planted));
+
+        player.dispose();
+        wolf.dispose();
+    }
+
+
+    /**
+     * Move an entity a frame forward, turning it & bouncing it off the trees & the edges of the stage
+     *
+     * @param field (TreeField)      - Forest
+     * @param t (TransformComponent) - Entity's position & angle
+     * @param speed (float)          - Pixels a second
+     * @param turn (float)           - Radians a second, counter-clockwise
+     */
+    private static void step(TreeField field, TransformComponent t, float speed, float turn){
+        t.radians = (t.radians + turn * DT + MathUtils.PI2) % MathUtils.PI2;
+        float x = t.pos.x + MathUtils.cos(t.radians) * speed * DT;
+        float y = t.pos.y + MathUtils.sin(t.radians) * speed * DT;
+        if(x < 0 || x > Headless.WIDTH || y < 0 || y > Headless.HEIGHT || inTree(field, x, y)){
+            t.radians = (t.radians + MathUtils.PI) % MathUtils.PI2;
+            return;
+        }
+        t.pos.set(x, y);
+    }
+
+
+    /**
+     * Plant a tree somewhere within NEAR of the wolf, clear of the wolf, the player & the edges of the stage
+     *
+     * @param field (TreeField) - Forest the tree's planted in
+     * @param random (Random)   - Picks the spot
+     * @param wolf (Vector2)    - Wolf's position
+     * @param player (Vector2)  - Player's position
+     * @return (boolean)        - True if a tree was planted, false if no clear spot turned up
+     */
+    private static boolean plant(TreeField field, Random random, Vector2 wolf, Vector2 player){
+        float clear = 2 * TreeField.RADIUS;
+        for(int attempt = 0; attempt < 20; attempt++){
+            float angle = random.nextFloat() * MathUtils.PI2;
+            float dist = clear + random.nextFloat() * (NEAR - clear);
+            float x = wolf.x + MathUtils.cos(angle) * dist, y = wolf.y + MathUtils.sin(angle) * dist;
+            if(x < TreeField.RADIUS || x > Headless.WIDTH - TreeField.RADIUS || y < TreeField.RADIUS
+                    || y > Headless.HEIGHT - TreeField.RADIUS || player.dst(x, y) < clear){ continue; }
+
+            field.add(x, y, random.nextFloat() * MathUtils.PI2);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Pick a random point that isn't inside a tree
+     *
+     * @param field (TreeField) - Forest
+     * @param random (Random)   - Picks the point
+     * @return (Vector2)        - Point clear of every tree
+     */
+    private static Vector2 clearing(TreeField field, Random random){
+        Vector2 point = new Vector2();
+        do {
+            point.set(random.nextFloat() * Headless.WIDTH, random.nextFloat() * Headless.HEIGHT);
+        } while(inTree(field, point.x, point.y));
+        return point;
+    }
+
+
+    /**
+     * Check if a point's inside a tree's bounding circle
+     *
+     * @param field (TreeField) - Forest
+     * @param x (float)         - x-coordinate
+     * @param y (float)         - y-coordinate
+     * @return (boolean)        - True if it's inside any tree
+     */
+    private static boolean inTree(TreeField field, float x, float y){
+        for(int tree = 0; tree < field.size(); tree++){
+            float dx = field.getX(tree) - x, dy = field.getY(tree) - y;
+            if(dx * dx + dy * dy < TreeField.RADIUS * TreeField.RADIUS) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Check if a ray's drawn through a tree, it runs more than a pixel into one before reaching its end
+     *
+     * @param grid (TreeGrid) - Forest's broad phase
+     * @param rays (RayBatch) - Rays as they're drawn
+     * @param i (int)         - Index of the ray
+     * @return (boolean)      - True if a tree's in the way
+     */
+    private static boolean throughTree(TreeGrid grid, RayBatch rays, int i){
+        float ox = rays.getOriginX(), oy = rays.getOriginY();
+        float dx = rays.getEndX(i) - ox, dy = rays.getEndY(i) - oy;
+        float length = (float)Math.sqrt(dx * dx + dy * dy);
+        float hit = grid.cast(i, ox, oy, dx, dy, RayKernel.MISS);
+        return hit != RayKernel.MISS && (1 - hit) * length > 1;
+    }
+}
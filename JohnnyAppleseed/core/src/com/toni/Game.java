@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.toni.managers.FrameStats;
 import com.toni.managers.GameInputProcessor;
 import com.toni.managers.GameKeys;
 import com.toni.managers.GameStateManager;
@@ -19,12 +20,32 @@ public class Game extends ApplicationAdapter {
 	public static OrthographicCamera cam;  // Camera used to view Game Universe
 
 	private GameStateManager gsm;
+	private GameConfig config;             // Game settings, stress mode included
+	private FrameStats frameStats;         // Frame time reports, only in stress mode
 
 	SpriteBatch batch;
 	Texture bgTex;
 	Sprite sprite;
 
 
+	/**
+	 * Normal game
+	 */
+	public Game(){
+		this(new GameConfig());
+	}
+
+
+	/**
+	 * Game with custom settings
+	 *
+	 * @param config (GameConfig) - Game settings
+	 */
+	public Game(GameConfig config){
+		this.config = config;
+	}
+
+
 	@Override
 	public void create () {
 		WIDTH  = Gdx.graphics.getWidth();            // Set WIDTH on startup
@@ -36,7 +57,11 @@ public class Game extends ApplicationAdapter {
 		cam.update();                                // Update cam to reflect the changes made with translate
 
 		Gdx.input.setInputProcessor(new GameInputProcessor());
-		gsm = new GameStateManager();
+		if(config.stress){
+			Gdx.app.log("Stress", config.toString());
+			frameStats = new FrameStats(config.logInterval);
+		}
+		gsm = new GameStateManager(config);
 
 		batch = new SpriteBatch();
 
@@ -57,8 +82,10 @@ public class Game extends ApplicationAdapter {
 		sprite.draw(batch);
 		batch.end();
 
+		long start = System.nanoTime();
 		gsm.update(Gdx.graphics.getDeltaTime());
 		gsm.draw();
+		if(frameStats != null) frameStats.record(System.nanoTime() - start, Gdx.graphics.getDeltaTime());
 
 		GameKeys.update();
 	}
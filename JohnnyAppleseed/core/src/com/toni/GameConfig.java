@@ -0,0 +1,59 @@
+package com.toni;
+
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Properties;
+
+public class GameConfig {
+    public static final int MAX_TREES = 10000;  // Most trees a stress run can start with
+
+    public int trees = 1;              // Trees planted when a game starts
+    public int wolves = 1;             // Wolves hunting the player
+    public int rays = 1024;            // Vision rays per wolf
+    public long seed;                  // Seed for the sequence of world seeds
+    public boolean stress = false;     // Stress mode: every wolf casts its rays each frame, games never end
+    public float logInterval = 5;      // Seconds between frame time reports in stress mode
+
+
+    /**
+     * Normal game settings with a random seed
+     */
+    public GameConfig(){
+        this(MathUtils.random.nextLong());
+    }
+
+
+    /**
+     * Normal game settings
+     *
+     * @param seed (long) - Seed for the sequence of world seeds
+     */
+    public GameConfig(long seed){
+        this.seed = seed;
+    }
+
+
+    /**
+     * Stress mode settings, missing keys keep their normal value. Keys are trees, wolves, rays, seed & log, the
+     * number of seconds between frame time reports.
+     *
+     * @param props (Properties) - Settings from the command line or a config file
+     * @return (GameConfig)      - Stress mode settings, counts clamped to what the game supports
+     */
+    public static GameConfig stress(Properties props){
+        GameConfig config = new GameConfig();
+        config.stress = true;
+        config.trees = MathUtils.clamp(Integer.parseInt(props.getProperty("trees", "" + config.trees)), 1, MAX_TREES);
+        config.wolves = Math.max(1, Integer.parseInt(props.getProperty("wolves", "" + config.wolves)));
+        config.rays = Math.max(8, Integer.parseInt(props.getProperty("rays", "" + config.rays)));
+        config.seed = Long.parseLong(props.getProperty("seed", "" + config.seed));
+        config.logInterval = Math.max(.5f, Float.parseFloat(props.getProperty("log", "" + config.logInterval)));
+        return config;
+    }
+
+
+    @Override
+    public String toString(){
+        return trees + " trees, " + wolves + " wolves, " + rays + " rays, seed " + seed;
+    }
+}
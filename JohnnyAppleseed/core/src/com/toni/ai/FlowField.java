@@ -0,0 +1,172 @@
+package com.toni.ai;
+
+import com.badlogic.gdx.ai.msg.Telegram;
+import com.badlogic.gdx.ai.msg.Telegraph;
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BinaryHeap;
+
+public class FlowField implements Telegraph {
+
+    /**
+     * A cell's place in the open list, one per cell made up front so a build never allocates
+     */
+    private static class Entry extends BinaryHeap.Node {
+        private final int cell;  // Index of the cell
+
+        Entry(int cell){
+            super(0);
+            this.cell = cell;
+        }
+    }
+
+    private final NavGraph graph;             // Cells the field's laid over, tree cells cost more to cross
+    private final float[] cost;               // Cost of the cheapest way from each cell to the goal
+    private final boolean[] open;             // Whether each cell's waiting in the open list
+    private final boolean[] closed;           // Whether each cell's cost is final
+    private final float[] dirX;               // Unit direction down the cost slope from each cell, 0 if flat
+    private final float[] dirY;               // Unit direction down the cost slope from each cell, 0 if flat
+    private final Entry[] entries;            // Open list entry of each cell
+    private final BinaryHeap<Entry> openList; // Cells ordered by cost, cheapest first
+    private NavGraph.Node goal;               // Cell of the player's last known position, null before a sighting
+    private int builtAt = -1;                 // Graph stamp the field was built at
+
+
+    /**
+     * Create an empty field over a grid, it's built the first time the player's spotted
+     *
+     * @param graph (NavGraph) - Cells the field's laid over, tree cells cost more to cross
+     */
+    public FlowField(NavGraph graph){
+        this.graph = graph;
+        int cells = graph.getNodeCount();
+        cost = new float[cells];
+        open = new boolean[cells];
+        closed = new boolean[cells];
+        dirX = new float[cells];
+        dirY = new float[cells];
+        entries = new Entry[cells];
+        for(int i = 0; i < cells; i++){ entries[i] = new Entry(i); }
+        openList = new BinaryHeap<Entry>(cells, false);
+    }
+
+
+    /**
+     * Move the goal to the player's last known position. The field's only rebuilt when the goal moves to another
+     * cell or a tree's been planted since, so the whole pack shares one build however many are chasing.
+     *
+     * @param x (float) - x-coordinate of the player
+     * @param y (float) - y-coordinate of the player
+     */
+    public void setGoal(float x, float y){
+        NavGraph.Node node = graph.nodeAt(x, y);
+        if(node == goal && builtAt == graph.getStamp()) return;
+
+        goal = node;
+        builtAt = graph.getStamp();
+        build();
+    }
+
+
+    /**
+     * Look up the direction a chaser should steer from a point
+     *
+     * @param pos (Vector2) - Position of the chaser
+     * @param out (Vector2) - Set to the unit direction, left alone if there's none
+     * @return (boolean)    - False if the point's in the goal's cell or there's no field yet, steer straight then
+     */
+    public boolean direction(Vector2 pos, Vector2 out){
+        if(goal == null) return false;
+
+        int cell = graph.nodeAt(pos.x, pos.y).index;
+        if(cell == goal.index || (dirX[cell] == 0 && dirY[cell] == 0)) return false;
+
+        out.set(dirX[cell], dirY[cell]);
+        return true;
+    }
+
+
+    /**
+     * Take in the pack's sightings
+     *
+     * @param msg (Telegram) - PLAYER_SPOTTED, extra info's the player's position
+     * @return (boolean)     - True if the message was handled
+     */
+    @Override
+    public boolean handleMessage(Telegram msg){
+        if(msg.message != Messages.PLAYER_SPOTTED) return false;
+
+        Vector2 pos = (Vector2)msg.extraInfo;
+        setGoal(pos.x, pos.y);
+        return true;
+    }
+
+
+    /**
+     * Dijkstra outwards from the goal over the reversed edges, so each cost is what a chaser pays to reach the
+     * goal, then point every cell down the slope of the costs
+     */
+    private void build(){
+        for(int i = 0; i < cost.length; i++){
+            cost[i] = Float.MAX_VALUE;
+            open[i] = closed[i] = false;
+        }
+        openList.clear();
+        cost[goal.index] = 0;
+        openList.add(entries[goal.index], 0);
+        open[goal.index] = true;
+
+        while(openList.size > 0){
+            int cell = openList.pop().cell;
+            open[cell] = false;
+            closed[cell] = true;
+
+            Array<Connection<NavGraph.Node>> edges = graph.getConnections(graph.getNode(cell));
+            for(int i = 0; i < edges.size; i++){
+                int next = edges.get(i).getToNode().index;
+                if(closed[next]) continue;
+
+                float c = cost[cell] + graph.reverseCost(edges.get(i));
+                if(c >= cost[next]) continue;
+                cost[next] = c;
+                if(open[next]){
+                    openList.setValue(entries[next], c);
+                } else {
+                    openList.add(entries[next], c);
+                    open[next] = true;
+                }
+            }
+        }
+
+        for(int cell = 0; cell < cost.length; cell++){ slope(cell); }
+    }
+
+
+    /**
+     * Point a cell down the slope of the costs. Each neighbour that's cheaper pulls by how steeply the cost drops
+     * towards it, which gives smoother headings than the 8 directions to the cheapest neighbour.
+     *
+     * @param cell (int) - Index of the cell
+     */
+    private void slope(int cell){
+        NavGraph.Node node = graph.getNode(cell);
+        Array<Connection<NavGraph.Node>> edges = graph.getConnections(node);
+        float x = 0, y = 0, dx, dy, len, drop;
+        for(int i = 0; i < edges.size; i++){
+            NavGraph.Node next = edges.get(i).getToNode();
+            drop = cost[cell] - cost[next.index];
+            if(drop <= 0) continue;
+
+            dx = next.x - node.x;
+            dy = next.y - node.y;
+            len = dx * dx + dy * dy;
+            x += dx * drop / len;
+            y += dy * drop / len;
+        }
+
+        len = (float)Math.sqrt(x * x + y * y);
+        dirX[cell] = len == 0 ? 0 : x / len;
+        dirY[cell] = len == 0 ? 0 : y / len;
+    }
+}
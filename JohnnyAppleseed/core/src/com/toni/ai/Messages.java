@@ -0,0 +1,12 @@
+package com.toni.ai;
+
+public class Messages {
+    public static final int PLAYER_IN_SIGHT = 0;  // Sent to a wolf whose line of sight reaches the player
+    public static final int PLAYER_SPOTTED  = 1;  // Broadcast while any wolf sees the player, extra info's its position
+    public static final int PLAYER_LOST     = 2;  // Broadcast once when no wolf sees the player any more
+    public static final int PATH_REQUEST    = 3;  // Sent by a wolf to the path finder queue, extra info's the request
+    public static final int PATH_READY      = 4;  // Sent back to the wolf once its route's planned
+
+
+    private Messages(){}
+}
@@ -0,0 +1,202 @@
+package com.toni.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.toni.entities.TreeField;
+
+public class NavGraph implements IndexedGraph<NavGraph.Node> {
+    private static final float TREE_COST = 5;  // Cost multiplier for entering a cell a tree covers
+
+    /**
+     * Straight line distance between cell centres, never more than a route's cost
+     */
+    public static final Heuristic<Node> DISTANCE = new Heuristic<Node>(){
+        @Override
+        public float estimate(Node node, Node end){
+            return (float)Math.sqrt((end.x - node.x) * (end.x - node.x) + (end.y - node.y) * (end.y - node.y));
+        }
+    };
+
+    /**
+     * A cell of the grid, wolves steer for its centre
+     */
+    public static class Node {
+        public final int index;                        // Index into the graph's nodes
+        public final float x, y;                       // Centre of the cell
+        private int trees;                             // Number of trees covering the centre
+        private int changed;                           // Graph stamp when a tree last covered the cell
+        private final Array<Connection<Node>> edges;   // Edges to the up to 8 neighbouring cells
+
+        Node(int index, float x, float y){
+            this.index = index;
+            this.x = x;
+            this.y = y;
+            edges = new Array<Connection<Node>>(8);
+        }
+    }
+
+    /**
+     * Edge into a neighbouring cell, it costs more if a tree covers that cell. The cost's read when A* expands the
+     * edge, so planting a tree never rebuilds edges.
+     */
+    private static class Edge implements Connection<Node> {
+        private final Node from, to;  // Cells the edge joins
+        private final float length;   // Distance between their centres
+
+        Edge(Node from, Node to){
+            this.from = from;
+            this.to = to;
+            length = DISTANCE.estimate(from, to);
+        }
+
+        @Override
+        public float getCost(){ return to.trees > 0 ? length * TREE_COST : length; }
+
+        @Override
+        public Node getFromNode(){ return from; }
+
+        @Override
+        public Node getToNode(){ return to; }
+    }
+
+    private final TreeField field;  // Forest whose trees raise the cost of the cells they cover
+    private final float cellSize;   // Width & height of a cell
+    private final int cols, rows;   // Size of the grid
+    private final Node[] nodes;     // Cells, indexed by row * cols + col
+    private int stamp;              // Number of trees added, routes planned before a change to their cells replan
+
+
+    /**
+     * Create an 8-connected grid over the stage with no trees on it
+     *
+     * @param field (TreeField) - Forest the trees are added from
+     * @param width (float)     - Stage width
+     * @param height (float)    - Stage height
+     * @param cellSize (float)  - Width & height of a cell
+     */
+    public NavGraph(TreeField field, float width, float height, float cellSize){
+        this.field = field;
+        this.cellSize = cellSize;
+        cols = (int)Math.ceil(width / cellSize);
+        rows = (int)Math.ceil(height / cellSize);
+        nodes = new Node[cols * rows];
+        for(int r = 0; r < rows; r++){
+            for(int c = 0; c < cols; c++){
+                nodes[r * cols + c] = new Node(r * cols + c, (c + .5f) * cellSize, (r + .5f) * cellSize);
+            }
+        }
+
+        for(int r = 0; r < rows; r++){
+            for(int c = 0; c < cols; c++){
+                Node node = nodes[r * cols + c];
+                for(int rr = Math.max(0, r - 1); rr <= Math.min(rows - 1, r + 1); rr++){
+                    for(int cc = Math.max(0, c - 1); cc <= Math.min(cols - 1, c + 1); cc++){
+                        if(rr != r || cc != c) node.edges.add(new Edge(node, nodes[rr * cols + cc]));
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Raise the cost of the cells whose centre a tree covers
+     *
+     * @param tree (int) - Id of the tree
+     */
+    public void add(int tree){
+        stamp++;
+        float tx = field.getX(tree), ty = field.getY(tree), reach = TreeField.RADIUS;
+        int c0 = col(tx - reach), c1 = col(tx + reach), r0 = row(ty - reach), r1 = row(ty + reach);
+        for(int r = r0; r <= r1; r++){
+            for(int c = c0; c <= c1; c++){
+                Node node = nodes[r * cols + c];
+                if((node.x - tx) * (node.x - tx) + (node.y - ty) * (node.y - ty) > reach * reach) continue;
+                node.trees++;
+                node.changed = stamp;
+            }
+        }
+    }
+
+
+    /**
+     * Check if a tree was added over a node after a stamp
+     *
+     * @param node (Node)  - Node to check
+     * @param stamp (int)  - Stamp when the route through the node was planned
+     * @return (boolean)   - True if the node's cost has changed since
+     */
+    public boolean changedSince(Node node, int stamp){ return node.changed > stamp; }
+
+
+    /**
+     * Get the cost of crossing an edge the other way, from the node it leads to back to the node it starts at
+     *
+     * @param edge (Connection) - Edge from this graph
+     * @return (float)          - Cost of the reverse edge
+     */
+    public float reverseCost(Connection<Node> edge){
+        Edge e = (Edge)edge;
+        return e.from.trees > 0 ? e.length * TREE_COST : e.length;
+    }
+
+
+    /**
+     * Get a node by its index
+     *
+     * @param index (int) - Index of the node, row * cols + col
+     * @return (Node)     - Node with that index
+     */
+    public Node getNode(int index){ return nodes[index]; }
+
+
+    /**
+     * Get the number of trees added so far
+     *
+     * @return (int) - Stamp that grows each time a tree's added
+     */
+    public int getStamp(){ return stamp; }
+
+
+    /**
+     * Get the node of the cell containing a point, clamped to the grid
+     *
+     * @param x (float) - x-coordinate
+     * @param y (float) - y-coordinate
+     * @return (Node)   - Cell containing the point
+     */
+    public Node nodeAt(float x, float y){ return nodes[row(y) * cols + col(x)]; }
+
+
+    @Override
+    public int getIndex(Node node){ return node.index; }
+
+
+    @Override
+    public int getNodeCount(){ return nodes.length; }
+
+
+    @Override
+    public Array<Connection<Node>> getConnections(Node fromNode){ return fromNode.edges; }
+
+
+    /**
+     * Column of the cell containing an x-coordinate, clamped to the grid
+     *
+     * @param x (float) - x-coordinate
+     * @return (int)    - Column index
+     */
+    private int col(float x){ return MathUtils.clamp((int)(x / cellSize), 0, cols - 1); }
+
+
+    /**
+     * Row of the cell containing a y-coordinate, clamped to the grid
+     *
+     * @param y (float) - y-coordinate
+     * @return (int)    - Row index
+     */
+    private int row(float y){ return MathUtils.clamp((int)(y / cellSize), 0, rows - 1); }
+}
@@ -0,0 +1,144 @@
+package com.toni.ai;
+
+import com.badlogic.gdx.ai.msg.MessageDispatcher;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.PathFinderQueue;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.Vector2;
+import com.toni.entities.Wolf;
+
+public class PatrolPlanner {
+
+    /**
+     * A* path finder that makes every node's search record and room in the open list for all of them up front, the
+     * stock one makes them as the searches first reach each node and grows the open list as it fills
+     */
+    private static class Finder extends IndexedAStarPathFinder<NavGraph.Node> {
+
+        Finder(NavGraph graph){
+            super(graph);
+            for(int i = 0; i < graph.getNodeCount(); i++){ addToOpenList(getNodeRecord(graph.getNode(i)), 0); }
+
+            // Starting a search empties the open list again, keeping its room
+            initSearch(graph.getNode(0), graph.getNode(0), NavGraph.DISTANCE);
+        }
+    }
+
+    private static final float REACHED = 40;  // Waypoints closer than this are passed, wolves turn too wide to hit them
+
+    private final NavGraph graph;                          // Grid the routes are planned over
+    private final PathFinderQueue<NavGraph.Node> queue;    // Requests waiting for the path finder, served in order
+    private final MessageDispatcher dispatcher;            // Carries requests to the queue & routes back to the wolves
+    private final long budget;                             // Nanoseconds of planning per frame
+
+
+    /**
+     * Create a planner whose requests are served by one A* path finder, a little each frame
+     *
+     * @param graph (NavGraph)                - Grid the routes are planned over
+     * @param dispatcher (MessageDispatcher)  - World's message dispatcher
+     * @param budget (long)                   - Nanoseconds of planning per frame
+     */
+    public PatrolPlanner(NavGraph graph, MessageDispatcher dispatcher, long budget){
+        this.graph = graph;
+        this.dispatcher = dispatcher;
+        this.budget = budget;
+        queue = new PathFinderQueue<NavGraph.Node>(new Finder(graph));
+    }
+
+
+    /**
+     * Run the path finder for this frame's budget. A search that runs out of time carries on next frame, and each
+     * finished route's sent to its wolf as PATH_READY.
+     */
+    public void update(){ queue.run(budget); }
+
+
+    /**
+     * Pick the point a patrolling wolf should steer for. A route's requested when the target's in a different cell
+     * to the current route's end, or a tree's been planted on the rest of the route. Until it arrives the wolf
+     * keeps to its old route if it leads to the target, otherwise it heads straight for the target.
+     *
+     * @param wolf (Wolf)        - Patrolling wolf
+     * @param target (Vector2)   - Patrol point the wolf's heading for
+     * @return (Vector2)         - Next waypoint, or the target itself
+     */
+    public Vector2 steer(Wolf wolf, Vector2 target){
+        WolfBlackboard board = wolf.getBlackboard();
+        DefaultGraphPath<NavGraph.Node> route = board.route;
+        NavGraph.Node goal = graph.nodeAt(target.x, target.y);
+
+        if(!board.planning && (goal != board.routeGoal || affected(board))){ request(wolf, goal); }
+
+        // Skip the waypoints the wolf's already close to
+        Vector2 pos = wolf.pos();
+        while(board.waypoint < route.getCount() && pos.dst2(route.get(board.waypoint).x,
+                route.get(board.waypoint).y) < REACHED * REACHED){
+            board.waypoint++;
+        }
+
+        // Old route to somewhere else or the last waypoint passed, the target's in reach
+        if(board.waypoint >= route.getCount() || route.get(route.getCount() - 1) != goal) return target;
+
+        NavGraph.Node next = route.get(board.waypoint);
+        return board.waypointPos.set(next.x, next.y);
+    }
+
+
+    /**
+     * Add a tree to the graph, the routes it lands on are replanned the next time their wolves steer
+     *
+     * @param tree (int) - Id of the tree
+     */
+    public void add(int tree){ graph.add(tree); }
+
+
+    /**
+     * Queue a route from the wolf's cell to a goal. The result's planned into a separate path, so the wolf keeps
+     * following its current route meanwhile.
+     *
+     * @param wolf (Wolf)           - Wolf the route's for, told when it's ready
+     * @param goal (NavGraph.Node)  - Cell the route ends in
+     */
+    private void request(Wolf wolf, NavGraph.Node goal){
+        WolfBlackboard board = wolf.getBlackboard();
+        PathFinderRequest<NavGraph.Node> request = board.request;
+        board.planned.clear();
+
+        // Room for a route through every cell, so neither path grows as the routes get longer
+        board.planned.nodes.ensureCapacity(graph.getNodeCount());
+        board.route.nodes.ensureCapacity(graph.getNodeCount() - board.route.getCount());
+
+        request.startNode = graph.nodeAt(wolf.pos().x, wolf.pos().y);
+        request.endNode = goal;
+        request.heuristic = NavGraph.DISTANCE;
+        request.resultPath = board.planned;
+        request.dispatcher = dispatcher;
+        request.responseMessageCode = Messages.PATH_READY;
+
+        board.routeGoal = goal;
+        board.plannedAt = graph.getStamp();
+        board.planning = true;
+        dispatcher.dispatchMessage(wolf, queue, Messages.PATH_REQUEST, request);
+    }
+
+
+    /**
+     * Check if a tree's been planted on the part of the route the wolf hasn't walked yet
+     *
+     * @param board (WolfBlackboard) - Blackboard holding the route
+     * @return (boolean)             - True if the route should be replanned
+     */
+    private boolean affected(WolfBlackboard board){
+        if(board.plannedAt == graph.getStamp()) return false;
+
+        for(int i = board.waypoint; i < board.route.getCount(); i++){
+            if(graph.changedSince(board.route.get(i), board.plannedAt)) return true;
+        }
+
+        // Nothing on the route changed, don't look again until another tree's planted
+        board.plannedAt = graph.getStamp();
+        return false;
+    }
+}
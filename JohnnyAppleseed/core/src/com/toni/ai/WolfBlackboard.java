@@ -0,0 +1,37 @@
+package com.toni.ai;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.PathFinderRequest;
+import com.badlogic.gdx.math.Vector2;
+
+public class WolfBlackboard {
+    public final Vector2 target = new Vector2();       // Patrol point the wolf's heading for
+    public boolean hasTarget;                          // Whether a patrol point's been picked yet
+    public final Vector2 desired = new Vector2();      // Vector from the wolf to where it wants to be
+    public float desiredAngle;                         // Turn the wolf needs to face the desired vector
+    public final Vector2 heading = new Vector2();      // Way the wolf's facing, reused by every decision
+    public final Vector2 playerPos = new Vector2();    // Player's last known position
+    public boolean playerVisible;                      // Whether the pack can see the player
+    public FlowField flow;                             // Pack's way to the player, chases go straight if null
+
+    public final DefaultGraphPath<NavGraph.Node> route;     // Cells to the patrol target
+    public final DefaultGraphPath<NavGraph.Node> planned;   // Route being planned, swapped in when it's ready
+    public final PathFinderRequest<NavGraph.Node> request;  // Reused for every plan
+
+    public PatrolPlanner planner;                      // Plans the patrol routes, patrols go straight if null
+    public final Vector2 waypointPos = new Vector2();  // Centre of the waypoint being steered for
+    public int waypoint;                               // Index of the route cell being steered for
+    public NavGraph.Node routeGoal;                    // Cell the route, or the one being planned, ends in
+    public int plannedAt;                              // Graph stamp when the route was requested
+    public boolean planning;                           // Whether a route's waiting in the path finder queue
+
+
+    /**
+     * Create a blackboard with no patrol target, route or sighting yet
+     */
+    public WolfBlackboard(){
+        route = new DefaultGraphPath<NavGraph.Node>();
+        planned = new DefaultGraphPath<NavGraph.Node>();
+        request = new PathFinderRequest<NavGraph.Node>();
+    }
+}
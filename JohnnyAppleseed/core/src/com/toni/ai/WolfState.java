@@ -6,16 +6,10 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.toni.Game;
 import com.toni.entities.Wolf;
-import com.toni.gamestates.PlayState;
 
 public enum WolfState implements State<Wolf> {
 
     PATROL(){
-        Vector2 target = null;
-        Vector2 desired = null;
-        float desiredAngle;
-
-
         /**
          * Decide which actions to take based on current GameState
          *
@@ -23,29 +17,34 @@ public enum WolfState implements State<Wolf> {
          */
         @Override
         public void update(Wolf wolf){
-            if(target == null){
-                target = new Vector2((float)Math.random() * Game.WIDTH, (float)Math.random() * Game.HEIGHT);
-                desired = new Vector2(0, 0);
+            WolfBlackboard board = wolf.getBlackboard();
+            Vector2 target = board.target;
+            if(!board.hasTarget){
+                target.set(wolf.getRandom().nextFloat() * Game.WIDTH, wolf.getRandom().nextFloat() * Game.HEIGHT);
+                board.hasTarget = true;
             }
             // If wolf's on target find new target
             if(onTarget(wolf.pos(), target)){
-                target.x = (float)Math.random() * Game.WIDTH;
-                target.y = (float)Math.random() * Game.HEIGHT;
+                target.x = wolf.getRandom().nextFloat() * Game.WIDTH;
+                target.y = wolf.getRandom().nextFloat() * Game.HEIGHT;
             }
 
+            // Head for the route's next waypoint, or straight for the target without a planner
+            Vector2 next = board.planner == null ? target : board.planner.steer(wolf, target);
+
             // Update desired vector
-            desired.x = target.x - wolf.pos().x;
-            desired.y = target.y - wolf.pos().y;
+            board.desired.x = next.x - wolf.pos().x;
+            board.desired.y = next.y - wolf.pos().y;
 
             // Determine rotation the wolf needs to take
-            desiredAngle = desired.angleRad(new Vector2(MathUtils.cos(wolf.radians()), MathUtils.sin(wolf.radians())));
+            board.desiredAngle = board.desired.angleRad(heading(wolf));
 
 
             // If the desired angle is small enough start moving towards target
-            if(desiredAngle < .12 && desiredAngle > -.12){ wolf.setUp(true); }
+            if(board.desiredAngle < .12 && board.desiredAngle > -.12){ wolf.setUp(true); }
 
             // Rotate in the direction of the desired vector
-            if(desiredAngle < 0){
+            if(board.desiredAngle < 0){
                 wolf.setLeft(true);
             } else {
                 wolf.setRight(true);
@@ -54,35 +53,45 @@ public enum WolfState implements State<Wolf> {
         }
     },
     CHASE(){
-        Vector2 desired = null;
-        float desiredAngle;
-
-
         @Override
         public void update(Wolf wolf){
+            WolfBlackboard board = wolf.getBlackboard();
+
             // Decide to continue chasing
-            if(!PlayState.getPlayerVisible()){
+            if(!board.playerVisible){
                 wolf.stateMachine.changeState(PATROL);
                 return;
             }
-            // Desired vector
-            desired = new Vector2(playerPos.x - wolf.pos().x, playerPos.y - wolf.pos().y);
+            // Follow the pack's flow field round the trees, straight at the player where it gives no way
+            if(board.flow == null || !board.flow.direction(wolf.pos(), board.desired)){
+                board.desired.set(board.playerPos.x - wolf.pos().x, board.playerPos.y - wolf.pos().y);
+            }
 
             // Rotation wolf makes to align with desired vector
-            desiredAngle = desired.angleRad(new Vector2(MathUtils.cos(wolf.radians()), MathUtils.sin(wolf.radians())));
+            board.desiredAngle = board.desired.angleRad(heading(wolf));
 
             // Decide to accelerate
-            if(desiredAngle < .85 && desiredAngle > -.85){ wolf.setUp(true); }
+            if(board.desiredAngle < .85 && board.desiredAngle > -.85){ wolf.setUp(true); }
 
             // decide which direction to rotate
-            if(desiredAngle < 0){
+            if(board.desiredAngle < 0){
                 wolf.setLeft(true);
             } else {
                 wolf.setRight(true);
             }
         }
     };
-    private static Vector2 playerPos = null;
+
+
+    /**
+     * Point the wolf's reused heading vector the way it's facing
+     *
+     * @param wolf (Wolf) - wolf object
+     * @return (Vector2)  - The blackboard's heading, a unit vector
+     */
+    private static Vector2 heading(Wolf wolf){
+        return wolf.getBlackboard().heading.set(MathUtils.cos(wolf.radians()), MathUtils.sin(wolf.radians()));
+    }
 
 
     /**
@@ -108,17 +117,37 @@ public enum WolfState implements State<Wolf> {
     public void exit(Wolf wolf){}
 
 
-    // Not implemented
-    @Override
-    public boolean onMessage(Wolf wolf, Telegram telegram){
-        return false;
-    }
-
-
     /**
-     * Update player position
+     * Handle a message. A wolf that sees the player starts chasing, every wolf keeps the pack's sightings on its own
+     * blackboard, and planned patrol routes are swapped in whichever state the wolf's in.
      *
-     * @param pos (Vector2) - xy-coordinate of player's last seen position
+     * @param wolf (Wolf)           - Wolf the message was sent to
+     * @param telegram (Telegram)   - Message, see Messages
+     * @return (boolean)            - True if the message was handled
      */
-    public static void setPlayerPos(Vector2 pos){ playerPos = pos; }
+    @Override
+    public boolean onMessage(Wolf wolf, Telegram telegram){
+        WolfBlackboard board = wolf.getBlackboard();
+        switch(telegram.message){
+            case Messages.PLAYER_IN_SIGHT:
+                if(this != CHASE){ wolf.stateMachine.changeState(CHASE); }
+                return true;
+            case Messages.PLAYER_SPOTTED:
+                board.playerPos.set((Vector2)telegram.extraInfo);
+                board.playerVisible = true;
+                return true;
+            case Messages.PLAYER_LOST:
+                board.playerVisible = false;
+                return true;
+            case Messages.PATH_READY:
+                // Swap the planned route in, a failed plan leaves none so the wolf heads straight for the target
+                board.route.clear();
+                if(board.request.pathFound){ board.route.nodes.addAll(board.planned.nodes); }
+                board.waypoint = 0;
+                board.planning = false;
+                return true;
+            default:
+                return false;
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.ai.fsm.StateMachine;
+import com.toni.ai.WolfBlackboard;
+import com.toni.ai.WolfState;
+import com.toni.entities.Wolf;
+
+public class AIComponent implements Component {
+    public StateMachine<Wolf, WolfState> stateMachine;  // Decides the steering, which holds until the next decision
+    public WolfBlackboard blackboard;                   // What this wolf's states remember & have been told
+    public int chaseFrequency = 1;                      // Frames between decisions while chasing
+    public int patrolFrequency = 1;                     // Frames between decisions while patrolling
+}
@@ -0,0 +1,16 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.toni.entities.RegrowthScheduler;
+import com.toni.entities.TreeField;
+import com.toni.entities.TreeSpawner;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.TreeGrid;
+
+public class ForestComponent implements Component {
+    public TreeField trees;             // Every tree, stored as ids into shared arrays
+    public TreeSpawner spawner;         // Plants trees spread out & clear of the player and wolves
+    public OccluderMesh occluders;      // Every tree edge in one buffer, appended as trees are planted
+    public TreeGrid grid;               // Trees bucketed by cell, for collisions & line of sight
+    public RegrowthScheduler regrowth;  // Refills empty trees when their time's up
+}
@@ -0,0 +1,11 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+
+public class HungerComponent implements Component {
+    public static final int FULL = 5;  // Hunger bars when full
+
+    public int hunger = FULL;          // Hunger bars left
+    public float hungerTime = 2;       // Seconds before a hunger bar is lost
+    public float hungerTimer;          // Time since last hunger bar was lost
+}
@@ -0,0 +1,13 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+public class MotionComponent implements Component {
+    public final Vector2 velocity = new Vector2();  // Velocity vector
+    public float maxSpeed;                          // Speed limit
+    public float acceleration;                      // Speed gained per second while going forward
+    public float deceleration;                      // Speed lost per second while braking
+    public float friction;                          // Speed lost per second while moving
+    public float rotationSpeed;                     // Radians turned per second
+}
@@ -0,0 +1,49 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.MathUtils;
+import com.toni.entities.ConvexShape;
+
+public class PolygonComponent implements Component {
+    public final float[] localX, localY;  // Vertices around the entity's position while it faces angle 0
+    public final float[] x, y;            // Vertices in the world, rebuilt by place()
+    public final ConvexShape bounds;      // Bounds & edge normals of the world vertices
+    public final Color color;             // Wireframe colour
+
+
+    /**
+     * Create a convex polygon from its vertices around the entity's position
+     *
+     * @param localX (float[]) - x vertices while facing angle 0
+     * @param localY (float[]) - y vertices while facing angle 0
+     * @param color (Color)    - Wireframe colour
+     */
+    public PolygonComponent(float[] localX, float[] localY, Color color){
+        this.localX = localX;
+        this.localY = localY;
+        this.color = color;
+        x = new float[localX.length];
+        y = new float[localX.length];
+        bounds = new ConvexShape(x, y);
+    }
+
+
+    /**
+     * Rotate the local vertices to an angle and move them to a position. MathUtils is used for its lookup tables.
+     *
+     * @param px (float)      - x-coordinate of the entity
+     * @param py (float)      - y-coordinate of the entity
+     * @param radians (float) - Angle the entity's facing
+     */
+    public void place(float px, float py, float radians){
+        float cos = MathUtils.cos(radians), sin = MathUtils.sin(radians);
+        for(int i = 0; i < x.length; i++){
+            x[i] = px + localX[i] * cos - localY[i] * sin;
+            y[i] = py + localX[i] * sin + localY[i] * cos;
+        }
+
+        // Bounds follow the vertices
+        bounds.update();
+    }
+}
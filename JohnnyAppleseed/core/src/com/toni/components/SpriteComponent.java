@@ -0,0 +1,8 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+
+public class SpriteComponent implements Component {
+    public Sprite sprite;  // Drawn centred on the entity & turned to its angle, its texture's owned by the entity
+}
@@ -0,0 +1,16 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+
+public class SteeringComponent implements Component {
+    public boolean left, right;  // Turn counter-clockwise, clockwise. Left wins if both are set
+    public boolean up, down;     // Accelerate forward, brake
+
+
+    /**
+     * Set every flag to false
+     */
+    public void clear(){
+        left = right = up = down = false;
+    }
+}
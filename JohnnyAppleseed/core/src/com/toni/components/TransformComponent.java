@@ -0,0 +1,9 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.math.Vector2;
+
+public class TransformComponent implements Component {
+    public final Vector2 pos = new Vector2();  // xy-coordinates
+    public float radians;                      // Angle the entity's facing
+}
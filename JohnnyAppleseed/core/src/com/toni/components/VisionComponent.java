@@ -0,0 +1,9 @@
+package com.toni.components;
+
+import com.badlogic.ashley.core.Component;
+import com.toni.vision.RayVisionEngine;
+
+public class VisionComponent implements Component {
+    public RayVisionEngine rays;  // Wolf's vision rays
+    public boolean seesPlayer;    // Whether the wolf's line of sight reached the player this frame
+}
@@ -0,0 +1,184 @@
+package com.toni.entities;
+
+public class ConvexShape {
+    private final float[] x;        // x vertices, shared with the owner
+    private final float[] y;        // y vertices, shared with the owner
+    private final float[] normalX;  // Normal of each edge, not unit length
+    private final float[] normalY;  // Normal of each edge, not unit length
+
+    private float minX, minY;       // Bottom left corner of the bounding box
+    private float maxX, maxY;       // Top right corner of the bounding box
+    private float centerX, centerY; // Centre of the bounding circle, the vertex average
+    private float radius;           // Radius of the bounding circle
+
+
+    /**
+     * Wrap a convex polygon's vertices. The arrays are kept, not copied, so update() picks up any change to them.
+     *
+     * @param x (float[]) - x vertices
+     * @param y (float[]) - y vertices
+     */
+    public ConvexShape(float[] x, float[] y){
+        this.x = x;
+        this.y = y;
+        normalX = new float[x.length];
+        normalY = new float[x.length];
+        update();
+    }
+
+
+    /**
+     * Recompute the bounding box, bounding circle & edge normals, call whenever the vertices change
+     */
+    public void update(){
+        minX = maxX = x[0];
+        minY = maxY = y[0];
+        centerX = centerY = 0;
+        for(int i = 0, j = x.length - 1; i < x.length; j = i++){
+            if(x[i] < minX) minX = x[i];
+            if(x[i] > maxX) maxX = x[i];
+            if(y[i] < minY) minY = y[i];
+            if(y[i] > maxY) maxY = y[i];
+            centerX += x[i];
+            centerY += y[i];
+
+            // Edge j -> i turned a quarter, either way round works for projecting
+            normalX[i] = y[j] - y[i];
+            normalY[i] = x[i] - x[j];
+        }
+        centerX /= x.length;
+        centerY /= y.length;
+
+        float d;
+        radius = 0;
+        for(int i = 0; i < x.length; i++){
+            d = (x[i] - centerX) * (x[i] - centerX) + (y[i] - centerY) * (y[i] - centerY);
+            if(d > radius) radius = d;
+        }
+        radius = (float)Math.sqrt(radius);
+    }
+
+
+    /**
+     * Check if two convex polygons overlap. The bounding boxes & circles reject most pairs, the rest are checked
+     * with the separating axis theorem: the polygons are apart if and only if one of their edge normals separates
+     * them. Touching counts as overlapping.
+     *
+     * @param other (ConvexShape) - Polygon to check against
+     * @return (boolean)          - True if the polygons overlap
+     */
+    public boolean overlaps(ConvexShape other){
+        if(maxX < other.minX || other.maxX < minX || maxY < other.minY || other.maxY < minY) return false;
+
+        float dx = other.centerX - centerX, dy = other.centerY - centerY;
+        if(dx * dx + dy * dy > (radius + other.radius) * (radius + other.radius)) return false;
+
+        return overlaps(other.x, other.y, 0, other.x.length, other.normalX, other.normalY);
+    }
+
+
+    /**
+     * Check if this polygon overlaps a convex polygon stored inside larger arrays, using the separating axis
+     * theorem only. Callers reject on bounds first.
+     *
+     * @param px (float[])    - x vertices, the polygon's are px[offset] to px[offset + count - 1]
+     * @param py (float[])    - y vertices, same layout as px
+     * @param offset (int)    - Index of the polygon's first vertex
+     * @param count (int)     - Number of vertices in the polygon
+     * @param axisX (float[]) - x-components of the polygon's edge normals, count of them
+     * @param axisY (float[]) - y-components of the polygon's edge normals, count of them
+     * @return (boolean)      - True if the polygons overlap
+     */
+    public boolean overlaps(float[] px, float[] py, int offset, int count, float[] axisX, float[] axisY){
+        return !separates(normalX, normalY, x.length, px, py, offset, count)
+                && !separates(axisX, axisY, count, px, py, offset, count);
+    }
+
+
+    /**
+     * Check if any of the axes has this polygon's & another polygon's projections apart
+     *
+     * @param axisX (float[]) - x-components of the axes
+     * @param axisY (float[]) - y-components of the axes
+     * @param axes (int)      - Number of axes
+     * @param px (float[])    - x vertices of the other polygon
+     * @param py (float[])    - y vertices of the other polygon
+     * @param offset (int)    - Index of the other polygon's first vertex
+     * @param count (int)     - Number of vertices in the other polygon
+     * @return (boolean)      - True if an axis separates the polygons
+     */
+    private boolean separates(float[] axisX, float[] axisY, int axes, float[] px, float[] py, int offset, int count){
+        for(int k = 0; k < axes; k++){
+            float min = Float.MAX_VALUE, max = -Float.MAX_VALUE, p;
+            for(int i = 0; i < x.length; i++){
+                p = x[i] * axisX[k] + y[i] * axisY[k];
+                if(p < min) min = p;
+                if(p > max) max = p;
+            }
+            float otherMin = Float.MAX_VALUE, otherMax = -Float.MAX_VALUE;
+            for(int i = offset; i < offset + count; i++){
+                p = px[i] * axisX[k] + py[i] * axisY[k];
+                if(p < otherMin) otherMin = p;
+                if(p > otherMax) otherMax = p;
+            }
+            if(max < otherMin || otherMax < min) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Get the left edge of the bounding box
+     *
+     * @return (float) - Smallest x vertex
+     */
+    public float getMinX(){ return minX; }
+
+
+    /**
+     * Get the bottom edge of the bounding box
+     *
+     * @return (float) - Smallest y vertex
+     */
+    public float getMinY(){ return minY; }
+
+
+    /**
+     * Get the right edge of the bounding box
+     *
+     * @return (float) - Largest x vertex
+     */
+    public float getMaxX(){ return maxX; }
+
+
+    /**
+     * Get the top edge of the bounding box
+     *
+     * @return (float) - Largest y vertex
+     */
+    public float getMaxY(){ return maxY; }
+
+
+    /**
+     * Get the x-coordinate of the bounding circle's centre
+     *
+     * @return (float) - Average x vertex
+     */
+    public float getCenterX(){ return centerX; }
+
+
+    /**
+     * Get the y-coordinate of the bounding circle's centre
+     *
+     * @return (float) - Average y vertex
+     */
+    public float getCenterY(){ return centerY; }
+
+
+    /**
+     * Get the radius of the bounding circle
+     *
+     * @return (float) - Distance from the centre to the furthest vertex
+     */
+    public float getRadius(){ return radius; }
+}
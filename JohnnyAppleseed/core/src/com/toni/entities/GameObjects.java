@@ -1,38 +1,66 @@
 package com.toni.entities;
 
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.math.Vector2;
-import com.toni.Game;
+import com.toni.components.MotionComponent;
+import com.toni.components.PolygonComponent;
+import com.toni.components.SpriteComponent;
+import com.toni.components.SteeringComponent;
+import com.toni.components.TransformComponent;
 
-public class GameObjects {
+public class GameObjects extends Entity {
     protected static final float PI = 3.14159f;
 
-    protected Vector2 pos;           // pos           - GameObject's xy-coordinates
-    protected Vector2 direction;     // direction     - GameObject's Velocity vector
-    protected float   radians;       // radians       - Angle GameObject's facing
-    protected float   speed;         // speed         - The GameObject's current speed
-    protected float   rotationSpeed; // rotationSpeed - How fast GameObject's rotates
-    protected int     width;         // width         - width of a GameObject
-    protected int     height;        // height        - height of a GameObject
-    protected float[] shapex;        // shapex        - Array of vertices
-    protected float[] shapey;        // shapey        - Array of vertices
+    protected TransformComponent transform;  // transform - GameObject's xy-coordinates & angle
+    protected MotionComponent motion;        // motion    - GameObject's velocity & handling
+    protected SteeringComponent steering;    // steering  - What the GameObject's trying to do this frame
+    protected PolygonComponent polygon;      // polygon   - GameObject's vertices, bounds & edge normals
+    protected SpriteComponent sprite;        // sprite    - GameObject's texture
+
 
     /**
-     * Prevent GameObjects from moving outside the game boundaries
+     * Add the components every GameObject has, the systems move, collide & draw it from these
+     *
+     * @param x (float)                  - Start x-coordinate
+     * @param y (float)                  - Start y-coordinate
+     * @param radians (float)            - Start angle
+     * @param polygon (PolygonComponent) - Vertices around the GameObject's position
+     * @param sprite (Sprite)            - Sprite, its texture's disposed with the GameObject
      */
-    protected void boundary(){
-        if(pos.x < 0) pos.x = 0;
-        if(pos.x > Game.WIDTH) pos.x = Game.WIDTH;
-        if(pos.y < 0) pos.y = 0;
-        if(pos.y > Game.HEIGHT) pos.y = Game.HEIGHT;
+    protected GameObjects(float x, float y, float radians, PolygonComponent polygon, Sprite sprite){
+        transform = new TransformComponent();
+        transform.pos.set(x, y);
+        transform.radians = radians;
+        motion = new MotionComponent();
+        steering = new SteeringComponent();
+        this.polygon = polygon;
+        this.sprite = new SpriteComponent();
+        this.sprite.sprite = sprite;
+
+        add(transform);
+        add(motion);
+        add(steering);
+        add(polygon);
+        add(this.sprite);
+
+        // Vertices at the start position, so trees can be kept off the GameObject before the first update
+        setShape();
     }
 
 
+    /**
+     * Move the vertices to the GameObject's position & angle, call after setting the position directly
+     */
+    public void setShape(){ polygon.place(transform.pos.x, transform.pos.y, transform.radians); }
+
+
     /**
      * Get GameObject's position
      *
      * @return (Vector2) - GameObject's xy-coordinate
      */
-    public Vector2 pos(){ return pos;}
+    public Vector2 pos(){ return transform.pos; }
 
 
     /**
@@ -40,7 +68,7 @@ public class GameObjects {
      *
      * @return (float) - GameObjects angle
      */
-    public float radians(){ return radians; }
+    public float radians(){ return transform.radians; }
 
 
     /**
@@ -48,7 +76,7 @@ public class GameObjects {
      *
      * @return (float[]) - array of vertices
      */
-    public float[] getShapex(){ return shapex; }
+    public float[] getShapex(){ return polygon.x; }
 
 
     /**
@@ -56,23 +84,56 @@ public class GameObjects {
      *
      * @return (float[]) - array of vertices
      */
-    public float[] getShapey(){ return shapey; }
+    public float[] getShapey(){ return polygon.y; }
+
+
+    /**
+     * get shape
+     *
+     * @return (ConvexShape) - bounds & edge normals of the vertices
+     */
+    public ConvexShape getShape(){ return polygon.bounds; }
+
+
+    /**
+     * Left updated to reflect argument
+     *
+     * @param b (boolean) - Argument value
+     */
+    public void setLeft(boolean b){ steering.left = b; }
+
+
+    /**
+     * Right updated to reflect argument
+     *
+     * @param b (boolean) - Argument value
+     */
+    public void setRight(boolean b){ steering.right = b; }
+
+
+    /**
+     * Up updated to reflect argument
+     *
+     * @param b (boolean) - Argument value
+     */
+    public void setUp(boolean b){ steering.up = b; }
 
 
     /**
-     * Check if polygons intersect using the contains() method
+     * Down updated to reflect argument
+     *
+     * @param b (boolean) - Argument value
+     */
+    public void setDown(boolean b){ steering.down = b; }
+
+
+    /**
+     * Check if polygons intersect, exact for convex polygons and the same answer whichever side it's called on
      *
      * @param other (GameObjects) - polygon to check against
      * @return (boolean)          - True if the polygons are intersecting
      */
-    public boolean intersects(GameObjects other){
-        float[] sx = other.getShapex();
-        float[] sy = other.getShapey();
-        for(int i = 0; i < sx.length; i++){
-            if(contains(sx[i], sy[i])){ return true; }
-        }
-        return false;
-    }
+    public boolean intersects(GameObjects other){ return polygon.bounds.overlaps(other.polygon.bounds); }
 
 
     /**
@@ -83,6 +144,7 @@ public class GameObjects {
      * @return (boolean) - True if point is within polygon
      */
     public boolean contains(float x, float y){
+        float[] shapex = polygon.x, shapey = polygon.y;
         boolean b = false;
         for(int i = 0, j = shapex.length - 1; i < shapex.length; j = i++){
             // Even-Odd winding Rule
@@ -93,4 +155,12 @@ public class GameObjects {
         }
         return b;
     }
+
+
+    /**
+     * Dispose the GameObject's texture
+     */
+    public void dispose(){
+        sprite.sprite.getTexture().dispose();
+    }
 }
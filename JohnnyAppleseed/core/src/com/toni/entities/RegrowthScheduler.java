@@ -0,0 +1,94 @@
+package com.toni.entities;
+
+import java.util.Arrays;
+
+public class RegrowthScheduler {
+    private final TreeField field; // Forest the trees belong to
+    private double time;           // Time since the scheduler started, a float would lose the frames in a long game
+    private double[] deadlines;    // Binary min-heap of refill times
+    private int[] trees;           // Tree refilled at each deadline, same heap order
+    private int size;              // Number of trees waiting to refill
+
+
+    /**
+     * Create an empty scheduler with room for every tree the forest holds
+     *
+     * @param field (TreeField) - Forest the scheduled trees belong to
+     */
+    public RegrowthScheduler(TreeField field){
+        this.field = field;
+        deadlines = new double[Math.max(16, field.capacity())];
+        trees = new int[deadlines.length];
+    }
+
+
+    /**
+     * Refill every tree whose deadline has passed. Only those trees are touched, full trees cost nothing.
+     *
+     * @param dt (float) - Time passed since last update
+     */
+    public void update(float dt){
+        time += dt;
+        while(size > 0 && deadlines[0] < time){
+            int tree = trees[0];
+            pop();
+            field.refill(tree);
+        }
+    }
+
+
+    /**
+     * Get the number of trees waiting to refill
+     *
+     * @return (int) - Number of empty trees
+     */
+    public int size(){ return size; }
+
+
+    /**
+     * Refill a tree once a delay has passed
+     *
+     * @param tree (int)    - Id of the empty tree
+     * @param delay (float) - Seconds until it's full again
+     */
+    void schedule(int tree, float delay){
+        if(size == trees.length){
+            deadlines = Arrays.copyOf(deadlines, size * 2);
+            trees = Arrays.copyOf(trees, size * 2);
+        }
+
+        // Sift the new deadline up from the bottom of the heap
+        double deadline = time + delay;
+        int i = size++;
+        while(i > 0 && deadlines[(i - 1) / 2] > deadline){
+            deadlines[i] = deadlines[(i - 1) / 2];
+            trees[i] = trees[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        deadlines[i] = deadline;
+        trees[i] = tree;
+    }
+
+
+    /**
+     * Remove the earliest deadline, sifting the last one down from the top of the heap
+     */
+    private void pop(){
+        size--;
+        double deadline = deadlines[size];
+        int tree = trees[size];
+
+        int i = 0, child;
+        while((child = 2 * i + 1) < size){
+            if(child + 1 < size && deadlines[child + 1] < deadlines[child]) child++;
+            if(deadlines[child] >= deadline) break;
+            deadlines[i] = deadlines[child];
+            trees[i] = trees[child];
+            i = child;
+        }
+        if(size > 0){
+            deadlines[i] = deadline;
+            trees[i] = tree;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.toni.entities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+
+import java.util.Arrays;
+
+public class TreeField {
+    public  static final float RADIUS   = 30f;     // radius of octagon
+    public  static final int   VERTICES = 8;       // Vertices per octagon
+    private static final float ANGLE    = 0.7854f; // Angle for a side of an octagon
+    private static final float EMPTY_TIME = 18;    // Time it takes for a tree to become full
+
+    // Every octagon is the same shape, only its position changes
+    private static final float[] OFFSET_X = new float[VERTICES]; // Vertex offsets from a tree's position
+    private static final float[] OFFSET_Y = new float[VERTICES]; // Vertex offsets from a tree's position
+    private static final float[] NORMAL_X = new float[VERTICES]; // Edge normals, not unit length
+    private static final float[] NORMAL_Y = new float[VERTICES]; // Edge normals, not unit length
+
+    private static Texture fullTex = new Texture(Gdx.files.internal("FullTree.png"));
+    private static Texture emptyTex = new Texture(Gdx.files.internal("EmptyTree.png"));
+
+    // Sprite templates shared by every tree, moved into place as each tree's drawn
+    private static Sprite fullSprite = template(fullTex, 829, 626, 80.32f, 68.08f);
+    private static Sprite emptySprite = template(emptyTex, 716, 584, 70.32f, 63.08f);
+
+    static {
+        // MathUtils used for the sin & cos lookup tables
+        OFFSET_X[0] = RADIUS;                            OFFSET_Y[0] = 0;
+        OFFSET_X[1] = RADIUS * MathUtils.cos(ANGLE);     OFFSET_Y[1] = RADIUS * MathUtils.sin(ANGLE);
+        OFFSET_X[2] = 0;                                 OFFSET_Y[2] = RADIUS;
+        OFFSET_X[3] = RADIUS * MathUtils.cos(3 * ANGLE); OFFSET_Y[3] = RADIUS * MathUtils.sin(3 * ANGLE);
+        OFFSET_X[4] = -RADIUS;                           OFFSET_Y[4] = 0;
+        OFFSET_X[5] = -OFFSET_X[1];                      OFFSET_Y[5] = -OFFSET_Y[1];
+        OFFSET_X[6] = 0;                                 OFFSET_Y[6] = -RADIUS;
+        OFFSET_X[7] = -OFFSET_X[3];                      OFFSET_Y[7] = -OFFSET_Y[3];
+
+        for(int i = 0, j = VERTICES - 1; i < VERTICES; j = i++){
+            NORMAL_X[i] = OFFSET_Y[j] - OFFSET_Y[i];
+            NORMAL_Y[i] = OFFSET_X[i] - OFFSET_X[j];
+        }
+    }
+
+    private int size;          // Number of trees, ids run from 0 to size - 1
+    private float[] x;         // x-coordinate of each tree
+    private float[] y;         // y-coordinate of each tree
+    private float[] radians;   // Angle of each tree's sprite
+    private boolean[] empty;   // Empty state of each tree
+    private float[] vx;        // Octagon vertices, tree i's are vx[i * VERTICES] to vx[i * VERTICES + VERTICES - 1]
+    private float[] vy;        // Octagon vertices, same layout as vx
+
+
+    /**
+     * Create an empty forest
+     *
+     * @param capacity (int) - Number of trees before the arrays have to grow
+     */
+    public TreeField(int capacity){
+        capacity = Math.max(1, capacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        radians = new float[capacity];
+        empty = new boolean[capacity];
+        vx = new float[capacity * VERTICES];
+        vy = new float[capacity * VERTICES];
+    }
+
+
+    /**
+     * Plant a full tree
+     *
+     * @param x (float)       - x-coordinate of the tree
+     * @param y (float)       - y-coordinate of the tree
+     * @param radians (float) - Angle of the tree's sprite
+     * @return (int)          - Id of the new tree
+     */
+    public int add(float x, float y, float radians){
+        if(size == this.x.length){
+            int capacity = size * 2;
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.radians = Arrays.copyOf(this.radians, capacity);
+            empty = Arrays.copyOf(empty, capacity);
+            vx = Arrays.copyOf(vx, capacity * VERTICES);
+            vy = Arrays.copyOf(vy, capacity * VERTICES);
+        }
+
+        int tree = size++;
+        this.x[tree] = x;
+        this.y[tree] = y;
+        this.radians[tree] = radians;
+        empty[tree] = false;
+        for(int i = 0; i < VERTICES; i++){
+            vx[tree * VERTICES + i] = x + OFFSET_X[i];
+            vy[tree * VERTICES + i] = y + OFFSET_Y[i];
+        }
+        return tree;
+    }
+
+
+    /**
+     * Remove every tree, the arrays are kept for the next forest
+     */
+    public void clear(){ size = 0; }
+
+
+    /**
+     * Get the number of trees
+     *
+     * @return (int) - Number of trees
+     */
+    public int size(){ return size; }
+
+
+    /**
+     * Get the number of trees the field holds before its arrays have to grow
+     *
+     * @return (int) - Capacity of the field
+     */
+    public int capacity(){ return x.length; }
+
+
+    /**
+     * Get a tree's x-coordinate
+     *
+     * @param tree (int) - Tree id
+     * @return (float)   - x-coordinate of the tree's centre
+     */
+    public float getX(int tree){ return x[tree]; }
+
+
+    /**
+     * Get a tree's y-coordinate
+     *
+     * @param tree (int) - Tree id
+     * @return (float)   - y-coordinate of the tree's centre
+     */
+    public float getY(int tree){ return y[tree]; }
+
+
+    /**
+     * Get the angle of a tree's sprite
+     *
+     * @param tree (int) - Tree id
+     * @return (float)   - Angle of the tree
+     */
+    public float getRadians(int tree){ return radians[tree]; }
+
+
+    /**
+     * Get the x vertices of every octagon, only valid until the next add()
+     *
+     * @return (float[]) - Tree i's vertices start at i * VERTICES
+     */
+    public float[] getVerticesX(){ return vx; }
+
+
+    /**
+     * Get the y vertices of every octagon, only valid until the next add()
+     *
+     * @return (float[]) - Tree i's vertices start at i * VERTICES
+     */
+    public float[] getVerticesY(){ return vy; }
+
+
+    /**
+     * Check tree state
+     *
+     * @param tree (int) - Tree id
+     * @return (boolean) - True if the tree's empty
+     */
+    public boolean isEmpty(int tree){ return empty[tree]; }
+
+
+    /**
+     * Set a tree to empty state, it refills once EMPTY_TIME has passed
+     *
+     * @param tree (int)                   - Tree id
+     * @param regrowth (RegrowthScheduler) - Scheduler that refills the tree
+     */
+    public void empty(int tree, RegrowthScheduler regrowth){
+        // return if tree's already empty
+        if(empty[tree]) return;
+
+        empty[tree] = true;
+        regrowth.schedule(tree, EMPTY_TIME);
+    }
+
+
+    /**
+     * Set a tree to full state, called by the regrowth scheduler
+     *
+     * @param tree (int) - Tree id
+     */
+    void refill(int tree){ empty[tree] = false; }
+
+
+    /**
+     * Check if a tree's octagon overlaps a convex polygon, bounding boxes first then separating axes
+     *
+     * @param tree (int)          - Tree id
+     * @param shape (ConvexShape) - Polygon to check against
+     * @return (boolean)          - True if they overlap
+     */
+    public boolean overlaps(int tree, ConvexShape shape){
+        if(x[tree] - RADIUS > shape.getMaxX() || x[tree] + RADIUS < shape.getMinX()) return false;
+        if(y[tree] - RADIUS > shape.getMaxY() || y[tree] + RADIUS < shape.getMinY()) return false;
+        return shape.overlaps(vx, vy, tree * VERTICES, VERTICES, NORMAL_X, NORMAL_Y);
+    }
+
+
+    /**
+     * Draw every tree's octagon
+     *
+     * @param sr (ShapeRenderer) - Used to draw octagons
+     */
+    public void draw(ShapeRenderer sr){
+        // Set tree color to white
+        sr.setColor(1, 1, 1, 1);
+
+        sr.begin(ShapeRenderer.ShapeType.Line);
+        for(int t = 0; t < size; t++){
+            int base = t * VERTICES;
+            for(int i = 0, j = VERTICES - 1; i < VERTICES; j = i++){
+                sr.line(vx[base + i], vy[base + i], vx[base + j], vy[base + j]);
+            }
+        }
+        sr.end();
+    }
+
+
+    /**
+     * Draw every tree's texture
+     *
+     * @param batch (SpriteBatch) - Display tree textures
+     */
+    public void draw(SpriteBatch batch){
+        for(int t = 0; t < size; t++){
+            if(empty[t]){
+                emptySprite.setPosition(x[t] - emptySprite.getWidth() / 2, y[t] - emptySprite.getHeight() / 2);
+                emptySprite.draw(batch);
+            } else {
+                fullSprite.setPosition(x[t] + 4 - fullSprite.getWidth() / 2, y[t] - fullSprite.getHeight() / 2);
+                fullSprite.setRotation(radians[t]);
+                fullSprite.draw(batch);
+            }
+        }
+    }
+
+
+    /**
+     * Build a sprite template for a tree texture
+     *
+     * @param tex (Texture)   - Tree texture
+     * @param srcWidth (int)  - Width of the texture region
+     * @param srcHeight (int) - Height of the texture region
+     * @param width (float)   - Width drawn on the stage
+     * @param height (float)  - Height drawn on the stage
+     * @return (Sprite)       - Sprite rotating around its centre
+     */
+    private static Sprite template(Texture tex, int srcWidth, int srcHeight, float width, float height){
+        Sprite sprite = new Sprite(tex, 0, 0, srcWidth, srcHeight);
+        sprite.setSize(width, height);
+        sprite.setOriginCenter();
+        return sprite;
+    }
+}
@@ -0,0 +1,191 @@
+package com.toni.entities;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.Arrays;
+
+public class TreeSpawner {
+    private static final int   TRIES = 30;      // Candidates tried around an active tree before it's retired
+    private static final int   EMPTY = -1;      // Cell with no tree in it
+
+    private final TreeField field;              // Forest the trees are planted into
+    private final RandomXS128 random;           // World's random source
+    private final float width, height;          // Stage size, trees are planted inside it
+    private final float spacing;                // Smallest distance between two trees' centres
+    private final float cellSize;               // spacing / sqrt(2), so a cell holds at most one tree
+    private final int cols, rows;               // Size of the occupancy grid
+    private final int[] cells;                  // Tree in each cell, EMPTY if none, indexed by row * cols + col
+
+    private int[] active;                       // Trees that may still have room around them
+    private int activeCount;                    // Number of active trees
+    private boolean full;                       // Whether every tree's been retired
+
+
+    /**
+     * Create a spawner over an empty forest
+     *
+     * @param field (TreeField)     - Forest the trees are planted into
+     * @param random (RandomXS128)  - World's random source
+     * @param width (float)         - Stage width
+     * @param height (float)        - Stage height
+     * @param spacing (float)       - Smallest distance between two trees' centres
+     */
+    public TreeSpawner(TreeField field, RandomXS128 random, float width, float height, float spacing){
+        this.field = field;
+        this.random = random;
+        this.width = width;
+        this.height = height;
+        this.spacing = spacing;
+        cellSize = spacing / (float)Math.sqrt(2);
+        cols = (int)Math.ceil(width / cellSize);
+        rows = (int)Math.ceil(height / cellSize);
+        cells = new int[cols * rows];
+        Arrays.fill(cells, EMPTY);
+        active = new int[Math.max(64, field.capacity())];
+    }
+
+
+    /**
+     * Plant a tree by Poisson-disc sampling. Candidates are drawn in the ring between spacing and twice the spacing
+     * around a random active tree, and checked against the few grid cells around them, so each spawn takes
+     * constant expected time however big the forest is. A tree is retired once TRIES candidates around it all land
+     * too close to other trees. Once every tree's retired the stage is full and trees go anywhere.
+     *
+     * @param avoid (GameObjects[]) - Objects the new tree mustn't overlap, may be empty
+     * @return (int)                - Id of the new tree
+     */
+    public int spawn(GameObjects[] avoid){
+        float x, y;
+
+        // Nothing to grow from yet, start anywhere clear of the objects
+        if(activeCount == 0 && !full){
+            for(int t = 0; t < TRIES; t++){
+                x = random.nextFloat() * width;
+                y = random.nextFloat() * height;
+                if(roomAt(x, y) && clear(x, y, avoid)) return plant(x, y);
+            }
+        }
+
+        // Parents whose room is only blocked by the objects count against the budget, retiring a parent doesn't
+        int blocked = 0;
+        while(activeCount > 0 && blocked < TRIES){
+            int slot = random.nextInt(activeCount);
+            int parent = active[slot];
+            boolean crowded = true;
+            for(int t = 0; t < TRIES; t++){
+                // Uniform over the ring's area, not its radius
+                float angle = random.nextFloat() * MathUtils.PI2;
+                float dist = spacing * (float)Math.sqrt(1 + 3 * random.nextFloat());
+                x = field.getX(parent) + MathUtils.cos(angle) * dist;
+                y = field.getY(parent) + MathUtils.sin(angle) * dist;
+                if(x < 0 || x >= width || y < 0 || y >= height || !roomAt(x, y)) continue;
+
+                if(clear(x, y, avoid)) return plant(x, y);
+                crowded = false;
+            }
+
+            if(crowded){
+                // Nothing fits around the parent, retire it
+                active[slot] = active[--activeCount];
+                if(activeCount == 0) full = true;
+            } else {
+                blocked++;
+            }
+        }
+
+        // Stage is full or the objects are in the way, fall back to a uniform point
+        return plant(random.nextFloat() * width, random.nextFloat() * height);
+    }
+
+
+    /**
+     * Get the number of trees that may still have room around them
+     *
+     * @return (int) - Active tree count, 0 once the stage is full
+     */
+    public int getActiveCount(){ return activeCount; }
+
+
+    /**
+     * Plant a tree with a random angle and record it in the grid
+     *
+     * @param x (float) - x-coordinate of the tree
+     * @param y (float) - y-coordinate of the tree
+     * @return (int)    - Id of the new tree
+     */
+    private int plant(float x, float y){
+        int tree = field.add(x, y, random.nextFloat() * 6.28319f);
+
+        // Only trees placed with spacing go in the grid, so a cell never holds two
+        int cell = row(y) * cols + col(x);
+        if(cells[cell] == EMPTY && roomAt(x, y)){
+            cells[cell] = tree;
+            if(activeCount == active.length){ active = Arrays.copyOf(active, activeCount * 2); }
+            active[activeCount++] = tree;
+        }
+        return tree;
+    }
+
+
+    /**
+     * Check if no recorded tree is within spacing of a point. Only the 5 x 5 cells around it can hold one.
+     *
+     * @param x (float)  - x-coordinate of the point
+     * @param y (float)  - y-coordinate of the point
+     * @return (boolean) - True if the point's far enough from every tree
+     */
+    private boolean roomAt(float x, float y){
+        int c = col(x), r = row(y);
+        float dx, dy;
+        for(int rr = Math.max(0, r - 2); rr <= Math.min(rows - 1, r + 2); rr++){
+            for(int cc = Math.max(0, c - 2); cc <= Math.min(cols - 1, c + 2); cc++){
+                int tree = cells[rr * cols + cc];
+                if(tree == EMPTY) continue;
+                dx = field.getX(tree) - x;
+                dy = field.getY(tree) - y;
+                if(dx * dx + dy * dy < spacing * spacing) return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Check if a tree at a point would stay clear of some objects' bounding circles
+     *
+     * @param x (float)             - x-coordinate of the tree
+     * @param y (float)             - y-coordinate of the tree
+     * @param avoid (GameObjects[]) - Objects to stay clear of
+     * @return (boolean)            - True if the tree wouldn't touch any of them
+     */
+    private static boolean clear(float x, float y, GameObjects[] avoid){
+        float dx, dy, reach;
+        for(int i = 0; i < avoid.length; i++){
+            ConvexShape shape = avoid[i].getShape();
+            dx = shape.getCenterX() - x;
+            dy = shape.getCenterY() - y;
+            reach = shape.getRadius() + TreeField.RADIUS;
+            if(dx * dx + dy * dy < reach * reach) return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Column of the cell containing an x-coordinate, clamped to the grid
+     *
+     * @param x (float) - x-coordinate
+     * @return (int)    - Column index
+     */
+    private int col(float x){ return MathUtils.clamp((int)(x / cellSize), 0, cols - 1); }
+
+
+    /**
+     * Row of the cell containing a y-coordinate, clamped to the grid
+     *
+     * @param y (float) - y-coordinate
+     * @return (int)    - Row index
+     */
+    private int row(float y){ return MathUtils.clamp((int)(y / cellSize), 0, rows - 1); }
+}
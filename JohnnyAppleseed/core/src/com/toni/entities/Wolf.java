@@ -3,206 +3,100 @@ package com.toni.entities;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.ai.fsm.DefaultStateMachine;
 import com.badlogic.gdx.ai.fsm.StateMachine;
+import com.badlogic.gdx.ai.msg.Telegram;
+import com.badlogic.gdx.ai.msg.Telegraph;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.RandomXS128;
 import com.toni.Game;
+import com.toni.ai.WolfBlackboard;
 import com.toni.ai.WolfState;
+import com.toni.components.AIComponent;
+import com.toni.components.PolygonComponent;
 
-public class Wolf extends GameObjects {
-    private static final float PI_2 = PI * 2;
+public class Wolf extends GameObjects implements Telegraph {
+    private static final Color COLOR = new Color(.5f, .2f, 0, 1);  // Orange-ish wireframe
+    private static final int PATROL_FREQUENCY = 4;                 // Frames between patrol decisions
 
-    private boolean left, right, up;  // Decision flags
-
-    private float maxSpeed;                 // Wolf's speed limit
-    private float acceleration;             // How fast the player accelerates
-    private float friction;                 // Friction
+    private RandomXS128 random;             // World's random source, used by the AI
+    private WolfBlackboard blackboard;      // The AI's state for this wolf alone
 
     // An instance of the state machine class
     public StateMachine<Wolf, WolfState> stateMachine;
 
-    Texture tex;
-    Sprite sprite;
-
 
     /**
      * Initialize wolf
-     */
-    public Wolf(){
-        // Init state machine
-        stateMachine = new DefaultStateMachine<Wolf, WolfState>(this, WolfState.PATROL);
-
-        // Set wolf position & direction
-        pos = new Vector2(Game.WIDTH - 12f, Game.HEIGHT - 12f);
-        direction = new Vector2(0, 0);
-
-        maxSpeed = 400;     // Wolf speed limit
-        acceleration = 260; // Wolf acceleration
-        friction = 150;     // Wolf deceleration
-
-        // Wolf's triangle vertices
-        shapex = new float[3];
-        shapey = new float[3];
-
-        // Angle & rotation speed
-        radians = PI;
-        rotationSpeed = 1.9f;
-
-        // Wolf texture
-        tex = new Texture(Gdx.files.internal("Wolf.png"));
-        sprite = new Sprite(tex, 0, 0, 843, 259);
-        sprite.setSize(65.754f,  20.202f);
-        sprite.setPosition(pos.x, pos.y);
-        sprite.setRotation(radians);
-    }
-
-
-    /**
-     * Set wolf vertices
-     */
-    private void setShape(){
-        // 0 - top vertex
-        shapex[0] = pos.x + MathUtils.cos(radians) * 35;
-        shapey[0] = pos.y + MathUtils.sin(radians) * 35;
-
-        // 1 - bottom left vertex
-        shapex[1] = pos.x + MathUtils.cos(radians - 11 * PI / 12) * 30;
-        shapey[1] = pos.y + MathUtils.sin(radians - 11 * PI / 12) * 30;
-
-        // 2 - Bottom right vertex
-        shapex[2] = pos.x + MathUtils.cos(radians + 11 * PI / 12) * 30;
-        shapey[2] = pos.y + MathUtils.sin(radians + 11 * PI / 12) * 30;
-    }
-
-
-    /**
-     * Update the wolf's data
-     *
-     * @param dt (float) - Time passed since last update
-     */
-    public void update(float dt){
-        // Set all the commands to false
-        this.clearCommand();
-
-        // stateMachine decides what flags to set
-        stateMachine.update();
-
-        // Update wolf
-        if(left) radians += rotationSpeed * dt;
-        if(right) radians -= rotationSpeed * dt;
-        if(this.radians > PI_2) radians = radians % PI_2;
-        if(this.radians < 0) radians += PI_2;
-
-        // Accelerate
-        if(up){
-            direction.x += MathUtils.cos(radians) * acceleration * dt;
-            direction.y += MathUtils.sin(radians) * acceleration * dt;
-        }
-
-        // Friction
-        float vec = (float) Math.sqrt(direction.x * direction.x + direction.y * direction.y);
-        // use friction on wolf
-        if(vec > 0){
-            direction.x -= (direction.x / vec) * friction * dt;
-            direction.y -= (direction.y / vec) * friction * dt;
-        }
-        // Cap the player's speed
-        if(vec > maxSpeed){
-            direction.x = (direction.x / vec) * maxSpeed;
-            direction.y = (direction.y / vec) * maxSpeed;
-        }
-
-        // Set position
-        pos.x += direction.x * dt;
-        pos.y += direction.y * dt;
-
-        // Set shape
-        setShape();
-
-        // Set image position
-        sprite.setOrigin(pos.x, pos.y);
-        sprite.setOriginCenter();
-        sprite.setRotation(180 * (radians / PI));
-        sprite.setPosition(pos.x - sprite.getWidth() / 2, pos.y - sprite.getHeight() / 2);
-
-
-        // Prevent Wolf moving out of bounds
-        boundary();
-    }
-
-
-    /**
-     * Draw wolf polygon
      *
-     * @param sr (ShapeRenderer) - Draws wolf
+     * @param random (RandomXS128) - World's random source
      */
-    public void draw(ShapeRenderer sr){
-        // Color - Orange-ish
-        sr.setColor(.5f, .2f, 0, 1);
-
-        // Draw wolf
-        sr.begin(ShapeRenderer.ShapeType.Line);
-        for(int i = 0, j = shapex.length - 1; i < shapex.length; j = i++){
-            sr.line(shapex[i], shapey[i], shapex[j], shapey[j]);
-        }
-
-        // End sr
-        sr.end();
+    public Wolf(RandomXS128 random){
+        // Start in the top right corner facing left, wolf texture
+        super(Game.WIDTH - 12f, Game.HEIGHT - 12f, PI, triangle(),
+                new Sprite(new Texture(Gdx.files.internal("Wolf.png")), 0, 0, 843, 259));
+        sprite.sprite.setSize(65.754f,  20.202f);
+        this.random = random;
+
+        motion.maxSpeed = 400;      // Wolf speed limit
+        motion.acceleration = 260;  // Wolf acceleration
+        motion.friction = 150;      // Wolf deceleration
+        motion.rotationSpeed = 1.9f;
+
+        // Init state machine, the AI system updates it before the wolf moves. A chase is decided every frame, a patrol
+        // can hold its steering a few frames
+        stateMachine = new DefaultStateMachine<Wolf, WolfState>(this, WolfState.PATROL);
+        blackboard = new WolfBlackboard();
+        AIComponent ai = new AIComponent();
+        ai.stateMachine = stateMachine;
+        ai.blackboard = blackboard;
+        ai.patrolFrequency = PATROL_FREQUENCY;
+        add(ai);
     }
 
 
     /**
-     * Draw wolf texture
+     * Wolf's triangle: the top vertex ahead of it & the bottom two swept 11/12 of a half turn either way
      *
-     * @param batch (SpriteBatch) - Display wolf texture
+     * @return (PolygonComponent) - Wolf's vertices around its position
      */
-    public void draw(SpriteBatch batch){
-        sprite.draw(batch);
+    private static PolygonComponent triangle(){
+        float back = 11 * PI / 12;
+        return new PolygonComponent(
+                new float[]{35, MathUtils.cos(-back) * 30, MathUtils.cos(back) * 30},
+                new float[]{0, MathUtils.sin(-back) * 30, MathUtils.sin(back) * 30}, COLOR);
     }
 
 
     /**
-     * Left updated to reflect argument
+     * Pass a perception message on to the current state
      *
-     * @param b (boolean) - Argument value
+     * @param msg (Telegram) - Message, see Messages
+     * @return (boolean)     - True if the state handled it
      */
-    public void setLeft(boolean b){ left = b; }
+    @Override
+    public boolean handleMessage(Telegram msg){ return stateMachine.handleMessage(msg); }
 
 
     /**
-     * Right updated to reflect argument
+     * Get the wolf's AI blackboard
      *
-     * @param b (boolean) - Argument value
+     * @return (WolfBlackboard) - Patrol target, steering & what the wolf knows of the player
      */
-    public void setRight(boolean b){ right = b; }
+    public WolfBlackboard getBlackboard(){ return blackboard; }
 
 
     /**
-     * Up updated to reflect argument
+     * Get the world's random source
      *
-     * @param b (boolean) - Argument value
+     * @return (RandomXS128) - Random source the AI rolls with
      */
-    public void setUp(boolean b){ up = b; }
+    public RandomXS128 getRandom(){ return random; }
 
 
     /**
      * Set all decision flags to false
      */
-    public void clearCommand(){
-        up = false;
-        left = false;
-        right = false;
-    }
-
-
-    /**
-     * Dispose tree
-     */
-    public void dispose(){
-        tex.dispose();
-    }
+    public void clearCommand(){ steering.clear(); }
 }
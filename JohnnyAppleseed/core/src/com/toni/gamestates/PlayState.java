@@ -1,30 +1,71 @@
 package com.toni.gamestates;
 
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.ai.msg.MessageDispatcher;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
-import com.toni.ai.WolfState;
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.Game;
+import com.toni.GameConfig;
+import com.toni.ai.FlowField;
+import com.toni.ai.Messages;
+import com.toni.ai.NavGraph;
+import com.toni.ai.PatrolPlanner;
+import com.toni.components.ForestComponent;
+import com.toni.components.VisionComponent;
+import com.toni.entities.GameObjects;
 import com.toni.entities.Player;
-import com.toni.entities.Ray;
-import com.toni.entities.Tree;
+import com.toni.entities.RegrowthScheduler;
+import com.toni.entities.TreeField;
+import com.toni.entities.TreeSpawner;
 import com.toni.entities.Wolf;
 import com.toni.managers.GameKeys;
 import com.toni.managers.GameStateManager;
-
-import java.util.ArrayList;
-
-public class PlayState extends GameState {
-    private static final int NUMB_RAYS = 1024;
-    private static boolean playerVisible = false;
-
-    private ShapeRenderer sr;       // Used to draw the polygons
-    private SpriteBatch batch;      // Used to draw textures
-    private Player player;          // Player
-    private Wolf wolf;              // Wolf
-    private Ray[] rays;             // Vision rays
-    private Vector2[] collPt;       // Collision point
-    private ArrayList<Tree> trees;  // Trees
-    private boolean rawVis = false; // Whether to draw vision rays
+import com.toni.systems.AISystem;
+import com.toni.systems.CollisionSystem;
+import com.toni.systems.HungerSystem;
+import com.toni.systems.MovementSystem;
+import com.toni.systems.PathfindingSystem;
+import com.toni.systems.RegrowthSystem;
+import com.toni.systems.RenderSystem;
+import com.toni.systems.VisionSystem;
+import com.toni.vision.AdaptiveRayVisionEngine;
+import com.toni.vision.LineOfSight;
+import com.toni.vision.OccluderMesh;
+import com.toni.vision.PolygonVisionEngine;
+import com.toni.vision.RayVisionEngine;
+import com.toni.vision.TreeGrid;
+import com.toni.vision.VisionEngine;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class PlayState extends GameState implements CollisionSystem.Listener {
+    private static final int RAY_BUDGET = 256;
+    private static final float TREE_SPACING = 36;  // Closest two trees' centres get, the stage fits ~320 trees
+    private static final float FILL = .55f;        // Share of spacing * spacing per tree Poisson-disc sampling fits
+    private static final float NAV_CELL = 25;      // Width & height of a patrol route grid cell
+    private static final long PLAN_NANOS = 500000; // Nanoseconds of patrol route planning per frame
+    private static final long AI_NANOS = 1000000;  // Nanoseconds of wolf decisions per frame
+
+    private GameConfig config;           // Game settings, stress mode included
+    private RandomXS128 random;          // World's own random source, every placement & AI roll comes from it
+    private ShapeRenderer sr;            // Used to draw the polygons
+    private SpriteBatch batch;           // Used to draw textures
+    private Player player;               // Player
+    private Wolf[] wolves;               // Wolves, the first one's vision is drawn
+    private ForestComponent forest;      // Trees, their spawner, occluders, grid & regrowth, one forest entity
+    private GameObjects[] actors;        // Objects new trees mustn't land on
+    private Engine engine;               // Runs the systems over the player, wolves & forest
+    private MessageDispatcher messages;  // Tells the wolves what the pack sees, one per world
+    private PatrolPlanner planner;       // Plans the wolves' patrol routes around the trees, a slice each frame
+    private RenderSystem render;         // Draws the entities, never run by the engine's update
+    private ForkJoinPool visionPool;     // Worker threads the vision rays are cast on
+    private RayVisionEngine[] rays;      // Each wolf's vision rays, all cast every frame in stress mode
+    private VisionEngine[] visions;      // Vision engines: fixed rays, exact polygon, adaptive rays, only drawn
+    private int vision;                  // Index of the vision engine currently in use
+    private boolean rawVis = false;      // Whether to draw vision rays
+    private boolean disposed;            // Whether the game's ended & been disposed, its vision pool's shut down
 
 
     /**
@@ -41,6 +82,11 @@ public class PlayState extends GameState {
      * Initialize PlayState
      */
     public void init(){
+        config = gsm.getConfig();
+
+        // Seed the world, the same seed always plants the same forest & patrol routes
+        random = new RandomXS128(gsm.nextWorldSeed());
+
         // Set up the renderer & sprite batch
         sr = new ShapeRenderer();
         batch = new SpriteBatch();
@@ -48,20 +94,77 @@ public class PlayState extends GameState {
         // Create player
         player = new Player();
 
-        // Create tree
-        trees = new ArrayList<>();
-        trees.add(new Tree());
+        // Create wolves, the first in its usual corner & the rest anywhere
+        wolves = new Wolf[config.wolves];
+        actors = new GameObjects[wolves.length + 1];
+        actors[0] = player;
+        for(int i = 0; i < wolves.length; i++){
+            wolves[i] = new Wolf(random);
+            if(i > 0) wolves[i].pos().set(random.nextFloat() * Game.WIDTH, random.nextFloat() * Game.HEIGHT);
+            actors[i + 1] = wolves[i];
+        }
 
-        // Create wolf
-        wolf = new Wolf();
+        // Sized for a whole game, planting never has to grow the arrays. Big stress forests pack trees closer
+        forest = new ForestComponent();
+        forest.trees = new TreeField(config.trees + 256);
+        float spacing = Math.min(TREE_SPACING, (float)Math.sqrt(FILL * Game.WIDTH * Game.HEIGHT / config.trees));
+        forest.spawner = new TreeSpawner(forest.trees, random, Game.WIDTH, Game.HEIGHT, spacing);
+        forest.occluders = new OccluderMesh(forest.trees);
+        forest.grid = new TreeGrid(forest.occluders, Game.WIDTH, Game.HEIGHT, 64f);
+        forest.regrowth = new RegrowthScheduler(forest.trees);
+
+        // Initialize guard's vision
+        visionPool = new ForkJoinPool();
+        rays = new RayVisionEngine[wolves.length];
+        for(int i = 0; i < wolves.length; i++){
+            rays[i] = new RayVisionEngine(wolves[i], forest.occluders, config.rays, visionPool);
+            VisionComponent eyes = new VisionComponent();
+            eyes.rays = rays[i];
+            wolves[i].add(eyes);
+        }
+        visions = new VisionEngine[]{
+                rays[0],
+                new PolygonVisionEngine(forest.occluders),
+                new AdaptiveRayVisionEngine(forest.occluders, RAY_BUDGET, Game.WIDTH, Game.HEIGHT)
+        };
+        vision = 0;
+
+        // Every wolf hears where the pack's seen the player, each keeps it on its own blackboard
+        messages = new MessageDispatcher();
+        for(int i = 0; i < wolves.length; i++){
+            messages.addListeners(wolves[i], Messages.PLAYER_SPOTTED, Messages.PLAYER_LOST);
+        }
 
-        // Initialize guard's vision rays
-        rays = new Ray[NUMB_RAYS];
-        for(int i = 0; i < NUMB_RAYS; i++){
-            rays[i] = new Ray(wolf.pos(), (i * (6.2832f / NUMB_RAYS)));
+        // Patrol routes are planned over a grid whose tree cells cost more, the trees are added as they're planted.
+        // Chases share one flow field over the same grid, rebuilt as the player's spotted in a new cell
+        NavGraph nav = new NavGraph(forest.trees, Game.WIDTH, Game.HEIGHT, NAV_CELL);
+        planner = new PatrolPlanner(nav, messages, PLAN_NANOS);
+        FlowField flow = new FlowField(nav);
+        messages.addListener(flow, Messages.PLAYER_SPOTTED);
+        for(int i = 0; i < wolves.length; i++){
+            wolves[i].getBlackboard().planner = planner;
+            wolves[i].getBlackboard().flow = flow;
         }
-        collPt = new Vector2[4];
 
+        // Systems run in priority order: plan, decide, move, regrow, look, collide
+        render = new RenderSystem();
+        engine = new Engine();
+        engine.addSystem(new HungerSystem(0));
+        engine.addSystem(new PathfindingSystem(planner, 1));
+        engine.addSystem(new AISystem(AI_NANOS, 2));
+        engine.addSystem(new MovementSystem(Game.WIDTH, Game.HEIGHT, 3));
+        engine.addSystem(new RegrowthSystem(4));
+        engine.addSystem(new VisionSystem(player, new LineOfSight(forest.grid), messages, config.stress, 5));
+        engine.addSystem(new CollisionSystem(player, this, 6));
+        engine.addSystem(render);
+
+        // Add the entities, the forest's a single one
+        engine.addEntity(player);
+        for(int i = 0; i < wolves.length; i++){ engine.addEntity(wolves[i]); }
+        engine.addEntity(new Entity().add(forest));
+
+        // Create tree
+        for(int i = 0; i < config.trees; i++){ addTree(); }
     }
 
 
@@ -74,48 +177,17 @@ public class PlayState extends GameState {
         // Handle input
         handleInput();
 
-        // Update player
-        player.update(dt);
+        // Update every system
+        engine.update(dt);
         if(player.getHunger() == 0){
-            gsm.setGameState(GameStateManager.LOST);
-        }
-
-        // Update trees
-        for(Tree tree: trees) {
-            tree.update(dt);
+            endGame(GameStateManager.LOST);
         }
 
-        // Update wolf
-        wolf.update(dt);
-
-        playerVisible = false;
-        // Update rays
-        for(int i =0; i < NUMB_RAYS; i += 4){
-            rays[i].update(wolf, (i * (6.28319f / NUMB_RAYS)));
-            rays[i + 1].update(wolf, ((i + 1) * (6.28319f / NUMB_RAYS)));
-            rays[i + 2].update(wolf, ((i + 2) * (6.28319f / NUMB_RAYS)));
-            rays[i + 3].update(wolf, ((i + 3) * (6.28319f / NUMB_RAYS)));
-
-            // check collision points
-            collPt[0] = cast(rays[i]);
-            collPt[1] = cast(rays[i + 1]);
-            collPt[2] = cast(rays[i + 2]);
-            collPt[3] = cast(rays[i + 3]);
-
-            if(collPt[0] != null){ rays[i].setCollisionPoint(collPt[0]); }
-            else { rays[i].resetCollisionPoint(); }
-
-            if(collPt[1] != null){ rays[i + 1].setCollisionPoint(collPt[1]); }
-            else { rays[i + 1].resetCollisionPoint(); }
-
-            if(collPt[2] != null){ rays[i + 2].setCollisionPoint(collPt[2]); }
-            else { rays[i + 2].resetCollisionPoint(); }
+        // Ending the game disposes it, nothing's cast on the shut down pool
+        if(disposed) return;
 
-            if(collPt[3] != null){ rays[i + 3].setCollisionPoint(collPt[3]); }
-            else { rays[i + 3].resetCollisionPoint(); }
-        }
-
-        checkCollision();
+        // The drawn vision's only cast while it's drawn, stress runs already cast the first wolf's rays
+        if(rawVis && !(config.stress && vision == 0)){ visions[vision].update(wolves[0], player); }
     }
 
 
@@ -124,26 +196,16 @@ public class PlayState extends GameState {
      */
     public void draw(){
         if(rawVis){
-            // Draw player
-            player.draw(sr);
             sr.begin(ShapeRenderer.ShapeType.Line);
             // Draw wolfs vision
-            for(Ray ray: rays){ ray.draw(sr); }
+            visions[vision].draw(sr);
             sr.end();
-            // Draw wolf
-            wolf.draw(sr);
-            // Draw trees
-            for(Tree tree: trees) { tree.draw(sr); }
+            // Draw player, wolves & trees
+            render.drawWireframe(sr);
         } else {
             batch.begin();
-            // Display player
-            player.draw(batch);
-            // Display wolf
-            wolf.draw(batch);
-            // Display tree
-            for(Tree tree: trees){
-                tree.draw(batch);
-            }
+            // Display player, wolves & trees
+            render.drawSprites(batch);
             // Display hunger bar
             player.drawHungerBar(batch);
             batch.end();
@@ -164,161 +226,66 @@ public class PlayState extends GameState {
         if(GameKeys.isPressed(GameKeys.SPACE)){
             toggleVision();
         }
-    }
-
-
-    public void checkCollision(){
-        // Player-wolf collision
-        if(wolf.intersects(player) || player.intersects(wolf)){
-            gsm.setGameState(GameStateManager.LOST);
-        }
 
-        // Player-tree collision
-        for(int i = 0; i < trees.size(); i++){
-            Tree t = trees.get(i);
-            if(t.isEmpty()) continue;
-
-            // Check tree collision
-            if(player.intersects(t) || t.intersects(player)){
-                if(trees.size() > 250){ gsm.setGameState(GameStateManager.WON); }
-
-                player.refuel();
-                t.empty();
-                trees.add(new Tree());
-            }
+        // V cycles through the vision engines
+        if(GameKeys.isPressed(GameKeys.V)){
+            vision = (vision + 1) % visions.length;
         }
     }
 
 
     /**
-     * Safely close PlayState
+     * A wolf's caught the player, the game's lost
      */
-    public void dispose(){
-        player.dispose();
-        for(Tree tree: trees) { tree.dispose(); }
-        wolf.dispose();
-    }
+    @Override
+    public void playerCaught(){ endGame(GameStateManager.LOST); }
 
 
     /**
-     * Check to see if the ray intersects with a GameObject
+     * The player's eaten from a tree, the game's won once the forest's big enough, otherwise another tree's planted
      *
-     * @param ray (Ray) - Ray being checked for line intersection
-     * @return Coordinate's of an intersection, or null if no intersection
+     * @param tree (int) - Id of the emptied tree
      */
-    public Vector2 cast(Ray ray){
-        Vector2 closestPt = null; // Return vector
-        Vector2 collPt;           // If a collision occurs
-        Vector2 p1, p2;           // line endpoint coordinates
-        float t, u;               // t and u value used in line-line intersection
-        float x1, x2;             // Coordinates of the wall
-        float y1, y2;             // Coordinates of the wall
-
-        // Check the ray against each wall
-        for(Tree tree: trees) {
-
-            for (int i = 0, j = tree.getShapex().length - 1; i < tree.getShapex().length; j = i++) {
-                p1 = new Vector2(tree.getShapex()[i], tree.getShapey()[i]);
-                p2 = new Vector2(tree.getShapex()[j], tree.getShapey()[j]);
-                t = getT(p1, p2, ray);
-                u = getU(p1, p2, ray);
-
-                // return a vector if a wall collision occurs
-                if ((t > 0 && t < 1) && (u > 0 && u < 1)) {
-                    x1 = p1.x;
-                    x2 = p2.x;
-                    y1 = p1.y;
-                    y2 = p2.y;
-                    collPt = new Vector2(x1 + (t * (x2 - x1)), y1 + (t * (y2 - y1)));
-
-                    // update closestPt
-                    if (closestPt == null) {
-                        closestPt = collPt;
-                    }
-
-                    if (ray.getPos().dst(collPt) <= ray.getPos().dst(closestPt)) {
-                        closestPt = collPt;
-                    }
-                }
-            }
-        }
-
-        // Check the ray against the player
-        for(int i = 0, j = player.getShapex().length - 1; i < player.getShapex().length; j = i++){
-            p1 = new Vector2(player.getShapex()[i], player.getShapey()[i]);
-            p2 = new Vector2(player.getShapex()[j], player.getShapey()[j]);
-
-            t = getT(p1, p2, ray);
-            u = getU(p1, p2, ray);
-
-            // return a vector if a wall collision occurs
-            if((t > 0 && t < 1) && (u > 0 && u < 1)){
-                x1 = p1.x;
-                x2 = p2.x;
-                y1 = p1.y;
-                y2 = p2.y;
-                collPt = new Vector2(x1 + (t * (x2 - x1)), y1 + (t * (y2 - y1)));
-
-                // update closestPt
-                if(closestPt == null){
-                    closestPt = collPt;
-                    playerVisible = true;
-                    wolf.stateMachine.changeState(WolfState.CHASE);
-                    WolfState.setPlayerPos(player.pos());
-                }
-
-                if(ray.getPos().dst(collPt) < ray.getPos().dst(closestPt)){
-                    closestPt = collPt;
-                    playerVisible = true;
-                    wolf.stateMachine.changeState(WolfState.CHASE);
-                    WolfState.setPlayerPos(player.pos());
-                }
-            }
-        }
-
-        return closestPt;
+    @Override
+    public void treeEaten(int tree){
+        if(forest.trees.size() > 250){ endGame(GameStateManager.WON); }
+        addTree();
     }
 
 
     /**
-     * Return t-value used in line-line intersection
-     *
-     * @param p1 (Vector2) - First xy-coordinate of line
-     * @param p2 (Vector2) - Second xy-coordinate of line
-     * @param ray (Ray) - Ray being checked for line intersection
-     * @return (float) - t
+     * Plant a tree, append its edges to the occluder mesh and register it with the line of sight query, vision
+     * engines & patrol route grid
      */
-    public float getT(Vector2 p1, Vector2 p2, Ray ray){
-        float x1 = p1.x, x2 = p2.x, x3 = ray.getPos().x, x4 = ray.getPos().x + ray.getAngle().x;
-        float y1 = p1.y, y2 = p2.y, y3 = ray.getPos().y, y4 = ray.getPos().y + ray.getAngle().y;
-        float numerator = ((x1 - x3) * (y3 - y4)) - ((y1 - y3) * (x3 - x4));
-        float denominator = ((x1 - x2) * (y3 - y4)) - ((y1 - y2) * (x3 - x4));
-
-        // Denominator is 0 check
-        if(denominator < .0001f && denominator > -.0001f){ return Float.MAX_VALUE; }
-
-        return numerator/denominator;
+    private void addTree(){
+        int tree = forest.spawner.spawn(actors);
+        forest.occluders.add(tree);
+        forest.grid.add(tree);
+        planner.add(tree);
+        for(int i = 0; i < rays.length; i++){ rays[i].add(tree); }
+        for(int i = 1; i < visions.length; i++){ visions[i].add(tree); } // visions[0] is the first wolf's rays
     }
 
 
     /**
-     * Return u-value in line-line intersection
+     * End the game, stress runs never end so they keep measuring. A game that's already ended and been disposed
+     * isn't ended again, being caught by two wolves or starving the same frame only switches states once.
      *
-     * @param p1 (Vector2) - First xy-coordinate of line
-     * @param p2 (Vector2) - Second xy-coordinate of line
-     * @param ray (Ray) - Ray being checked for line intersection
-     * @return (float) - u
+     * @param state (int) - GameStateManager.LOST or GameStateManager.WON
      */
-    public float getU(Vector2 p1, Vector2 p2, Ray ray){
-        float x1 = p1.x, x2 = p2.x, x3 = ray.getPos().x, x4 = ray.getPos().x + ray.getAngle().x;
-        float y1 = p1.y, y2 = p2.y, y3 = ray.getPos().y, y4 = ray.getPos().y + ray.getAngle().y;
-        float numerator = ((x1 - x2) * (y1 - y3)) - ((y1 - y2) * (x1 - x3));
-        float denominator = ((x1 - x2) * (y3 - y4)) - ((y1 - y2) * (x3 - x4));
+    private void endGame(int state){
+        if(!config.stress && !disposed){ gsm.setGameState(state); }
+    }
 
-        // Denominator is 0 check
-        if(denominator < .0001f && denominator > -.0001f){ return Float.MAX_VALUE; }
 
-        return -1f * (numerator/denominator);
+    /**
+     * Safely close PlayState
+     */
+    public void dispose(){
+        disposed = true;
+        player.dispose();
+        for(int i = 0; i < wolves.length; i++){ wolves[i].dispose(); }
+        visionPool.shutdown();
     }
 
 
@@ -332,12 +299,4 @@ public class PlayState extends GameState {
             rawVis = true;
         }
     }
-
-
-    /**
-     * Check if the player's visible to the guard
-     *
-     * @return (boolean) - true if visible, false if not visible
-     */
-    public static boolean getPlayerVisible(){ return playerVisible;}
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.toni.managers;
+
+import com.badlogic.gdx.Gdx;
+
+import java.util.Arrays;
+
+public class FrameStats {
+    private static final String TAG = "Stress";
+
+    private final float interval;   // Seconds between reports
+    private float[] work;           // Milliseconds spent updating & drawing each frame since the last report
+    private float[] sorted;         // Copy of work sorted for the percentiles, kept to avoid reallocating
+    private int count;              // Frames since the last report
+    private float elapsed;          // Seconds since the last report
+
+
+    /**
+     * Create an empty frame time recorder
+     *
+     * @param interval (float) - Seconds between reports
+     */
+    public FrameStats(float interval){
+        this.interval = interval;
+        work = new float[1024];
+        sorted = new float[1024];
+    }
+
+
+    /**
+     * Record a frame, logging a report once the interval's passed
+     *
+     * @param nanos (long) - Time spent updating & drawing the frame
+     * @param dt (float)   - Time since the last frame
+     */
+    public void record(long nanos, float dt){
+        if(count == work.length){
+            work = Arrays.copyOf(work, count * 2);
+            sorted = new float[count * 2];
+        }
+        work[count++] = nanos / 1e6f;
+        elapsed += dt;
+
+        if(elapsed >= interval){
+            log();
+            count = 0;
+            elapsed = 0;
+        }
+    }
+
+
+    /**
+     * Log the frame rate and the spread of work times since the last report
+     */
+    private void log(){
+        System.arraycopy(work, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+
+        float total = 0;
+        for(int i = 0; i < count; i++){ total += sorted[i]; }
+
+        Gdx.app.log(TAG, String.format("%d frames, %.1f fps | work ms avg %.2f p50 %.2f p95 %.2f p99 %.2f max %.2f",
+                count, count / elapsed, total / count, percentile(.5f), percentile(.95f), percentile(.99f),
+                sorted[count - 1]));
+    }
+
+
+    /**
+     * Nearest-rank percentile of the sorted work times
+     *
+     * @param p (float) - Percentile, 0 to 1
+     * @return (float)  - Work time in milliseconds
+     */
+    private float percentile(float p){
+        return sorted[Math.min(count - 1, (int)Math.ceil(p * count) - 1)];
+    }
+}
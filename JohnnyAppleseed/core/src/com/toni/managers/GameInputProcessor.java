@@ -23,6 +23,8 @@ public class GameInputProcessor extends InputAdapter {
 
         if(k == Input.Keys.SPACE){ GameKeys.setKey(GameKeys.SPACE, true); }
 
+        if(k == Input.Keys.V){ GameKeys.setKey(GameKeys.V, true); }
+
         return true;
     }
 
@@ -44,6 +46,8 @@ public class GameInputProcessor extends InputAdapter {
 
         if(k == Input.Keys.SPACE){ GameKeys.setKey(GameKeys.SPACE, false); }
 
+        if(k == Input.Keys.V){ GameKeys.setKey(GameKeys.V, false); }
+
         return true;
     }
 }
@@ -1,7 +1,7 @@
 package com.toni.managers;
 
 public class GameKeys {
-    private static final int NUM_KEYS = 5; // Number of interactions a user can make with the game
+    private static final int NUM_KEYS = 6; // Number of interactions a user can make with the game
 
     private static boolean [] keys     = new boolean[NUM_KEYS]; // Keys currently pressed
     private static boolean [] prevKeys = new boolean[NUM_KEYS]; // State of keys last update method
@@ -12,6 +12,7 @@ public class GameKeys {
     public static final int DOWN  = 2;
     public static final int RIGHT = 3;
     public static final int SPACE = 4;
+    public static final int V     = 5;
 
 
     /**
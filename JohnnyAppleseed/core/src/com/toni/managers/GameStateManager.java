@@ -1,5 +1,7 @@
 package com.toni.managers;
 
+import com.badlogic.gdx.math.RandomXS128;
+import com.toni.GameConfig;
 import com.toni.gamestates.GameLostState;
 import com.toni.gamestates.GameState;
 import com.toni.gamestates.GameWonState;
@@ -12,16 +14,56 @@ public class GameStateManager {
     public static final int WON  = 2;
 
     private GameState gameState;      // Current game state
+    private GameConfig config;        // Game settings
+    private RandomXS128 worldSeeds;   // Hands each new game its world seed
 
 
     /**
-     * Game state initializer
+     * Game state initializer, every run plays different worlds
      */
     public GameStateManager(){
+        this(new GameConfig());
+    }
+
+
+    /**
+     * Game state initializer, the same seed always plays the same worlds in the same order
+     *
+     * @param seed (long) - Seed for the sequence of world seeds
+     */
+    public GameStateManager(long seed){
+        this(new GameConfig(seed));
+    }
+
+
+    /**
+     * Game state initializer with custom settings
+     *
+     * @param config (GameConfig) - Game settings, its seed starts the sequence of world seeds
+     */
+    public GameStateManager(GameConfig config){
+        this.config = config;
+        worldSeeds = new RandomXS128(config.seed);
         setGameState(PLAY);
     }
 
 
+    /**
+     * Get the game settings
+     *
+     * @return (GameConfig) - Settings every game is started with
+     */
+    public GameConfig getConfig(){ return config; }
+
+
+    /**
+     * Get the seed for a new game's world
+     *
+     * @return (long) - Seed for the world's random source
+     */
+    public long nextWorldSeed(){ return worldSeeds.nextLong(); }
+
+
     /**
      * Set the GameState
      *
@@ -0,0 +1,174 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.ai.sched.LoadBalancingScheduler;
+import com.badlogic.gdx.ai.sched.Schedulable;
+import com.badlogic.gdx.utils.Array;
+import com.toni.ai.WolfState;
+import com.toni.components.AIComponent;
+import com.toni.components.SteeringComponent;
+
+public class AISystem extends EntitySystem implements EntityListener {
+    private static final int DRY_RUN_FRAMES = 100;  // Frames looked ahead when phasing a new agent's decisions
+
+    private final ComponentMapper<AIComponent> ai = ComponentMapper.getFor(AIComponent.class);
+    private final ComponentMapper<SteeringComponent> steering = ComponentMapper.getFor(SteeringComponent.class);
+
+    private final Family family;                      // Entities with an AI & steering
+    private final RoundRobinScheduler scheduler;      // Spreads the decisions over the frames
+    private final Array<Decision> decisions;          // Decisions in the order the scheduler runs them
+    private final long budget;                        // Nanoseconds of decisions per frame
+    private Decision skipped;                         // First decision over budget this frame, runs first next frame
+
+    /**
+     * One agent's decisions while it's in one kind of state. Each agent's scheduled once for chasing & once for
+     * patrolling, each at its own frequency, and the record that doesn't match the current state does nothing.
+     */
+    private class Decision implements Schedulable {
+        private final Entity entity;    // Agent deciding
+        private final boolean chasing;  // Whether this record decides the chase or the patrol
+
+        Decision(Entity entity, boolean chasing){
+            this.entity = entity;
+            this.chasing = chasing;
+        }
+
+        @Override
+        public void run(long nanoTimeToRun){
+            AIComponent a = ai.get(entity);
+            if(a.stateMachine.isInState(WolfState.CHASE) != chasing) return;
+
+            // Over budget, keep the last decision's steering until the next turn comes round
+            if(nanoTimeToRun <= 0){
+                if(skipped == null) skipped = this;
+                return;
+            }
+
+            steering.get(entity).clear();
+            a.stateMachine.update();
+        }
+    }
+
+
+    /**
+     * Load balancing scheduler whose running order can be rotated. The stock one always runs the records in the
+     * order they were added, so over budget the last agents added would be the ones skipped every frame.
+     */
+    private static class RoundRobinScheduler extends LoadBalancingScheduler {
+
+        RoundRobinScheduler(int dryRunFrames){ super(dryRunFrames); }
+
+
+        /**
+         * Rotate the records so one's run first, the ones before it move to the back in the same order
+         *
+         * @param first (int) - Index of the record to run first
+         */
+        void startAt(int first){ rotate(schedulableRecords, first); }
+    }
+
+
+    /**
+     * Create the system that lets each state machine decide its entity's steering. Decisions are spread over the
+     * frames by each agent's frequencies & run within a time budget, the steering holds in between so the
+     * movement system still moves every entity every frame.
+     *
+     * @param budget (long)  - Nanoseconds of decisions per frame
+     * @param priority (int) - Order the engine runs the system in, lowest first
+     */
+    public AISystem(long budget, int priority){
+        super(priority);
+        this.budget = budget;
+        family = Family.all(AIComponent.class, SteeringComponent.class).get();
+        scheduler = new RoundRobinScheduler(DRY_RUN_FRAMES);
+        decisions = new Array<Decision>();
+    }
+
+
+    @Override
+    public void addedToEngine(Engine engine){
+        ImmutableArray<Entity> agents = engine.getEntitiesFor(family);
+        for(int i = 0; i < agents.size(); i++){ entityAdded(agents.get(i)); }
+        engine.addEntityListener(family, this);
+    }
+
+
+    /**
+     * Schedule a new agent's decisions, phased so agents with the same frequency decide on different frames
+     *
+     * @param entity (Entity) - Entity with an AI & steering
+     */
+    @Override
+    public void entityAdded(Entity entity){
+        AIComponent a = ai.get(entity);
+        schedule(new Decision(entity, true), a.chaseFrequency);
+        schedule(new Decision(entity, false), a.patrolFrequency);
+    }
+
+
+    /**
+     * Schedule a decision after the others
+     *
+     * @param decision (Decision) - Agent's decision in one kind of state
+     * @param frequency (int)     - Frames between its turns
+     */
+    private void schedule(Decision decision, int frequency){
+        scheduler.addWithAutomaticPhasing(decision, frequency);
+        decisions.add(decision);
+    }
+
+
+    // Not implemented, the scheduler can't drop agents & they live as long as the game
+    @Override
+    public void entityRemoved(Entity entity){}
+
+
+    /**
+     * Run the decisions due this frame. Once one's skipped over budget the order's rotated so it runs first next
+     * frame, carrying on round every agent, so an overload slows all the wolves down evenly.
+     *
+     * @param dt (float) - Time passed since last update
+     */
+    @Override
+    public void update(float dt){
+        skipped = null;
+        scheduler.run(budget);
+
+        if(skipped != null){
+            int first = decisions.indexOf(skipped, true);
+            rotate(decisions, first);
+            scheduler.startAt(first);
+        }
+    }
+
+
+    /**
+     * Rotate an array in place so one item's first, the ones before it move to the back in the same order
+     *
+     * @param array (Array) - Array rotated
+     * @param first (int)   - Index of the item moved to the front
+     */
+    private static void rotate(Array<?> array, int first){
+        reverse(array, 0, first - 1);
+        reverse(array, first, array.size - 1);
+        reverse(array, 0, array.size - 1);
+    }
+
+
+    /**
+     * Reverse part of an array in place
+     *
+     * @param array (Array) - Array reversed
+     * @param from (int)    - First index reversed
+     * @param to (int)      - Last index reversed
+     */
+    private static void reverse(Array<?> array, int from, int to){
+        while(from < to){ array.swap(from++, to--); }
+    }
+}
@@ -0,0 +1,103 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.toni.components.AIComponent;
+import com.toni.components.ForestComponent;
+import com.toni.components.PolygonComponent;
+import com.toni.entities.ConvexShape;
+import com.toni.entities.Player;
+
+public class CollisionSystem extends EntitySystem {
+    private final ComponentMapper<PolygonComponent> polygon = ComponentMapper.getFor(PolygonComponent.class);
+    private final ComponentMapper<ForestComponent> forest = ComponentMapper.getFor(ForestComponent.class);
+
+    /**
+     * Told about the collisions that change the game
+     */
+    public interface Listener {
+        /**
+         * A wolf's caught the player
+         */
+        void playerCaught();
+
+        /**
+         * The player's eaten from a tree, it's already been emptied
+         *
+         * @param tree (int) - Id of the tree
+         */
+        void treeEaten(int tree);
+    }
+
+    private final Player player;             // Player everything's checked against
+    private final Listener listener;         // Told about the collisions
+    private final IntArray nearby;           // Trees near the player this frame
+    private ImmutableArray<Entity> wolves;   // Wolves, kept up to date by the engine
+    private ImmutableArray<Entity> forests;  // The forest, a single entity
+
+
+    /**
+     * Create the system that checks the player against the wolves & the trees
+     *
+     * @param player (Player)     - Player everything's checked against
+     * @param listener (Listener) - Told about the collisions
+     * @param priority (int)      - Order the engine runs the system in, lowest first
+     */
+    public CollisionSystem(Player player, Listener listener, int priority){
+        super(priority);
+        this.player = player;
+        this.listener = listener;
+        nearby = new IntArray(false, 16);
+    }
+
+
+    @Override
+    public void addedToEngine(Engine engine){
+        wolves = engine.getEntitiesFor(Family.all(AIComponent.class, PolygonComponent.class).get());
+        forests = engine.getEntitiesFor(Family.all(ForestComponent.class).get());
+    }
+
+
+    /**
+     * Check the player against every wolf, then against the trees near it. Once a wolf's caught the player nothing
+     * else is checked, ending the game disposes it and there's no forest left to plant in.
+     *
+     * @param dt (float) - Time passed since last update
+     */
+    @Override
+    public void update(float dt){
+        ConvexShape bounds = player.getShape();
+
+        // Player-wolf collision
+        for(int i = 0; i < wolves.size(); i++){
+            if(polygon.get(wolves.get(i)).bounds.overlaps(bounds)){
+                listener.playerCaught();
+                return;
+            }
+        }
+
+        // Player-tree collision, only the trees sharing a cell with the player's bounding box
+        for(int f = 0; f < forests.size(); f++){
+            ForestComponent forest = this.forest.get(forests.get(f));
+            nearby.clear();
+            forest.grid.query(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY(), nearby);
+
+            for(int i = 0; i < nearby.size; i++){
+                int t = nearby.get(i);
+                if(forest.trees.isEmpty(t)) continue;
+
+                // Check tree collision
+                if(forest.trees.overlaps(t, bounds)){
+                    player.refuel();
+                    forest.trees.empty(t, forest.regrowth);
+                    listener.treeEaten(t);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.toni.components.HungerComponent;
+
+public class HungerSystem extends IteratingSystem {
+    private final ComponentMapper<HungerComponent> hunger = ComponentMapper.getFor(HungerComponent.class);
+
+
+    /**
+     * Create the system that empties hunger bars over time
+     *
+     * @param priority (int) - Order the engine runs the system in, lowest first
+     */
+    public HungerSystem(int priority){
+        super(Family.all(HungerComponent.class).get(), priority);
+    }
+
+
+    /**
+     * Lose a hunger bar each time the hunger time passes
+     *
+     * @param entity (Entity) - Entity that gets hungry
+     * @param dt (float)      - Time passed since last update
+     */
+    @Override
+    protected void processEntity(Entity entity, float dt){
+        HungerComponent h = hunger.get(entity);
+        h.hungerTimer += dt;
+        if(h.hungerTimer > h.hungerTime){
+            h.hunger--;
+            h.hungerTimer = 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.toni.components.MotionComponent;
+import com.toni.components.PolygonComponent;
+import com.toni.components.SteeringComponent;
+import com.toni.components.TransformComponent;
+
+public class MovementSystem extends IteratingSystem {
+    private final ComponentMapper<TransformComponent> transform = ComponentMapper.getFor(TransformComponent.class);
+    private final ComponentMapper<MotionComponent> motion = ComponentMapper.getFor(MotionComponent.class);
+    private final ComponentMapper<SteeringComponent> steering = ComponentMapper.getFor(SteeringComponent.class);
+    private final ComponentMapper<PolygonComponent> polygon = ComponentMapper.getFor(PolygonComponent.class);
+
+    private final float width, height;  // Stage size, entities are kept inside it
+
+
+    /**
+     * Create the system that turns, accelerates & moves entities by their steering
+     *
+     * @param width (float)  - Stage width
+     * @param height (float) - Stage height
+     * @param priority (int) - Order the engine runs the system in, lowest first
+     */
+    public MovementSystem(float width, float height, int priority){
+        super(Family.all(TransformComponent.class, MotionComponent.class, SteeringComponent.class,
+                PolygonComponent.class).get(), priority);
+        this.width = width;
+        this.height = height;
+    }
+
+
+    /**
+     * Move an entity & its vertices
+     *
+     * @param entity (Entity) - Entity that moves
+     * @param dt (float)      - Time passed since last update
+     */
+    @Override
+    protected void processEntity(Entity entity, float dt){
+        TransformComponent t = transform.get(entity);
+        MotionComponent m = motion.get(entity);
+        SteeringComponent s = steering.get(entity);
+        Vector2 pos = t.pos, direction = m.velocity;
+
+        // Rotate, left wins if both are set
+        if(s.left) { t.radians += m.rotationSpeed * dt; }
+        else if(s.right) { t.radians -= m.rotationSpeed * dt; }
+        if(t.radians > MathUtils.PI2) t.radians = t.radians % MathUtils.PI2;
+        if(t.radians < 0) t.radians += MathUtils.PI2;
+
+        // Acceleration & deceleration
+        if(s.up){
+            direction.x += MathUtils.cos(t.radians) * m.acceleration * dt;
+            direction.y += MathUtils.sin(t.radians) * m.acceleration * dt;
+        } else if(s.down){
+            direction.x -= MathUtils.cos(t.radians) * m.deceleration * dt;
+            direction.y -= MathUtils.sin(t.radians) * m.deceleration * dt;
+        }
+
+        // Friction
+        float vec = (float) Math.sqrt(direction.x * direction.x + direction.y * direction.y);
+        if(vec > 0){
+            direction.x -= (direction.x / vec) * m.friction * dt;
+            direction.y -= (direction.y / vec) * m.friction * dt;
+        }
+        // Cap the speed
+        if(vec > m.maxSpeed){
+            direction.x = (direction.x / vec) * m.maxSpeed;
+            direction.y = (direction.y / vec) * m.maxSpeed;
+        }
+
+        // Set position, kept inside the stage
+        pos.x = MathUtils.clamp(pos.x + direction.x * dt, 0, width);
+        pos.y = MathUtils.clamp(pos.y + direction.y * dt, 0, height);
+
+        // Set shape
+        polygon.get(entity).place(pos.x, pos.y, t.radians);
+    }
+}
@@ -0,0 +1,29 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.toni.ai.PatrolPlanner;
+
+public class PathfindingSystem extends EntitySystem {
+    private final PatrolPlanner planner;  // Serves the wolves' route requests
+
+
+    /**
+     * Create the system that gives the patrol route planner its slice of each frame
+     *
+     * @param planner (PatrolPlanner) - Serves the wolves' route requests
+     * @param priority (int)          - Order the engine runs the system in, lowest first
+     */
+    public PathfindingSystem(PatrolPlanner planner, int priority){
+        super(priority);
+        this.planner = planner;
+    }
+
+
+    /**
+     * Plan routes until the frame's budget runs out, finished routes reach their wolves before they decide
+     *
+     * @param dt (float) - Time passed since last update
+     */
+    @Override
+    public void update(float dt){ planner.update(); }
+}
@@ -0,0 +1,33 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.toni.components.ForestComponent;
+
+public class RegrowthSystem extends IteratingSystem {
+    private final ComponentMapper<ForestComponent> forest = ComponentMapper.getFor(ForestComponent.class);
+
+
+    /**
+     * Create the system that refills empty trees
+     *
+     * @param priority (int) - Order the engine runs the system in, lowest first
+     */
+    public RegrowthSystem(int priority){
+        super(Family.all(ForestComponent.class).get(), priority);
+    }
+
+
+    /**
+     * Refill the trees whose regrowth time has passed
+     *
+     * @param entity (Entity) - The forest
+     * @param dt (float)      - Time passed since last update
+     */
+    @Override
+    protected void processEntity(Entity entity, float dt){
+        forest.get(entity).regrowth.update(dt);
+    }
+}
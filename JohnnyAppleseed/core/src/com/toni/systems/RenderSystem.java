@@ -0,0 +1,84 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.toni.components.ForestComponent;
+import com.toni.components.PolygonComponent;
+import com.toni.components.SpriteComponent;
+import com.toni.components.TransformComponent;
+
+public class RenderSystem extends EntitySystem {
+    private final ComponentMapper<TransformComponent> transform = ComponentMapper.getFor(TransformComponent.class);
+    private final ComponentMapper<PolygonComponent> polygon = ComponentMapper.getFor(PolygonComponent.class);
+    private final ComponentMapper<SpriteComponent> sprite = ComponentMapper.getFor(SpriteComponent.class);
+    private final ComponentMapper<ForestComponent> forest = ComponentMapper.getFor(ForestComponent.class);
+
+    private ImmutableArray<Entity> polygons;  // Entities drawn as wireframes
+    private ImmutableArray<Entity> sprites;   // Entities drawn as textures
+    private ImmutableArray<Entity> forests;   // The forest, a single entity
+
+
+    /**
+     * Create the system that draws the entities. It's only drawn when the game state draws, never by the engine's
+     * update.
+     */
+    public RenderSystem(){
+        setProcessing(false);
+    }
+
+
+    @Override
+    public void addedToEngine(Engine engine){
+        polygons = engine.getEntitiesFor(Family.all(PolygonComponent.class).get());
+        sprites = engine.getEntitiesFor(Family.all(TransformComponent.class, SpriteComponent.class).get());
+        forests = engine.getEntitiesFor(Family.all(ForestComponent.class).get());
+    }
+
+
+    /**
+     * Draw every polygon in its colour, then the trees' octagons
+     *
+     * @param sr (ShapeRenderer) - Draws the wireframes
+     */
+    public void drawWireframe(ShapeRenderer sr){
+        sr.begin(ShapeRenderer.ShapeType.Line);
+        for(int e = 0; e < polygons.size(); e++){
+            PolygonComponent p = polygon.get(polygons.get(e));
+            sr.setColor(p.color);
+            for(int i = 0, j = p.x.length - 1; i < p.x.length; j = i++){
+                sr.line(p.x[i], p.y[i], p.x[j], p.y[j]);
+            }
+        }
+        sr.end();
+
+        for(int f = 0; f < forests.size(); f++){ forest.get(forests.get(f)).trees.draw(sr); }
+    }
+
+
+    /**
+     * Draw every sprite centred on its entity & turned to its angle, then the trees. The batch must have begun.
+     *
+     * @param batch (SpriteBatch) - Display textures
+     */
+    public void drawSprites(SpriteBatch batch){
+        for(int e = 0; e < sprites.size(); e++){
+            Entity entity = sprites.get(e);
+            TransformComponent t = transform.get(entity);
+            Sprite s = sprite.get(entity).sprite;
+            s.setOriginCenter();
+            s.setRotation(t.radians * MathUtils.radiansToDegrees);
+            s.setPosition(t.pos.x - s.getWidth() / 2, t.pos.y - s.getHeight() / 2);
+            s.draw(batch);
+        }
+
+        for(int f = 0; f < forests.size(); f++){ forest.get(forests.get(f)).trees.draw(batch); }
+    }
+}
@@ -0,0 +1,86 @@
+package com.toni.systems;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.ai.msg.MessageDispatcher;
+import com.toni.ai.Messages;
+import com.toni.components.VisionComponent;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+import com.toni.vision.LineOfSight;
+
+public class VisionSystem extends EntitySystem {
+    private final ComponentMapper<VisionComponent> vision = ComponentMapper.getFor(VisionComponent.class);
+
+    private final Player player;                 // Player the wolves look for
+    private final LineOfSight sight;             // Decides whether a wolf sees the player
+    private final MessageDispatcher dispatcher;  // Delivers what's seen to the wolves
+    private final boolean castRays;              // Whether every wolf casts its rays each frame
+    private ImmutableArray<Entity> wolves;       // Wolves with vision, kept up to date by the engine
+    private boolean playerVisible;               // Whether any wolf saw the player on the last update
+
+
+    /**
+     * Create the system that decides which wolves see the player. Wolves listening to the dispatcher for
+     * PLAYER_SPOTTED & PLAYER_LOST hear about the whole pack's sightings.
+     *
+     * @param player (Player)                 - Player the wolves look for
+     * @param sight (LineOfSight)             - Line of sight query over the forest
+     * @param dispatcher (MessageDispatcher)  - World's message dispatcher
+     * @param castRays (boolean)              - Whether every wolf casts its vision rays each frame, as stress runs do
+     * @param priority (int)                  - Order the engine runs the system in, lowest first
+     */
+    public VisionSystem(Player player, LineOfSight sight, MessageDispatcher dispatcher, boolean castRays,
+                        int priority){
+        super(priority);
+        this.player = player;
+        this.sight = sight;
+        this.dispatcher = dispatcher;
+        this.castRays = castRays;
+    }
+
+
+    @Override
+    public void addedToEngine(Engine engine){
+        wolves = engine.getEntitiesFor(Family.all(VisionComponent.class).get());
+    }
+
+
+    /**
+     * Check each wolf's line of sight, the ones that see the player are told so and start chasing. While any of them
+     * sees it the pack's told where it is, and once none do they're told it's lost.
+     *
+     * @param dt (float) - Time passed since last update
+     */
+    @Override
+    public void update(float dt){
+        boolean seen = false;
+        for(int i = 0; i < wolves.size(); i++){
+            Entity entity = wolves.get(i);
+            Wolf wolf = (Wolf)entity;
+            VisionComponent v = vision.get(entity);
+
+            v.seesPlayer = sight.canSee(wolf, player);
+            if(v.seesPlayer){
+                seen = true;
+                dispatcher.dispatchMessage(null, wolf, Messages.PLAYER_IN_SIGHT);
+            }
+
+            // The rays are only cast when they're drawn unless it's a stress run
+            if(castRays){ v.rays.update(wolf, player); }
+        }
+
+        // The pack keeps chasing while any of them sees the player
+        if(seen){
+            dispatcher.dispatchMessage(Messages.PLAYER_SPOTTED, player.pos());
+        } else if(playerVisible){
+            dispatcher.dispatchMessage(Messages.PLAYER_LOST);
+        }
+        playerVisible = seen;
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+public class AdaptiveRayVisionEngine implements VisionEngine {
+    private static final float CONE       = RayBatch.CONE_ANGLE;
+    private static final float CONE_SHARE = .6f;  // Share of the budget cast inside the cone
+    private static final float SIDE_SHARE = .15f; // Share of the budget cast outside the cone
+    private static final int   MAX_DEPTH  = 4;    // Most times a gap between two rays is split
+
+    private static final int NOTHING = -1;  // Owner of rays that hit nothing
+    private static final int PLAYER  = -2;  // Owner of rays that hit the player first
+
+    private final int budget;      // Most rays cast in a frame
+    private final int coneRays;    // Evenly spaced rays inside the cone
+    private final int sideRays;    // Evenly spaced rays outside the cone
+    private OccluderMesh mesh;     // Tree edges, plus the player as the dynamic layer
+    private TreeGrid grid;         // Broad phase, works for rays at any angle
+
+    private float ox, oy;          // Origin of the rays this frame
+    private float heading;         // Angle the wolf is facing this frame
+
+    private float[] angles;        // Angle of each ray cast this frame
+    private float[] hitX, hitY;    // Where each ray ended
+    private int[] owners;          // What each ray hit, a tree id, PLAYER or NOTHING
+    private int count;             // Number of rays cast this frame
+    private boolean playerVisible; // Whether any ray hit the player first
+
+    private float[] gapA, gapB;    // Angles bounding each queued gap, b counter-clockwise of a
+    private int[] gapOwnerA;       // What the ray at a hit
+    private int[] gapOwnerB;       // What the ray at b hit
+    private int[] gapDepth;        // Splits the gap's already had
+    private int head, tail;        // Next gap split & where the next gap's queued
+
+
+    /**
+     * Create an adaptive ray engine
+     *
+     * @param mesh (OccluderMesh) - Occluders the wolf looks through
+     * @param budget (int)        - Most rays cast in a frame, what's left after the evenly spaced rays refines gaps
+     * @param width (float)       - Stage width
+     * @param height (float)      - Stage height
+     */
+    public AdaptiveRayVisionEngine(OccluderMesh mesh, int budget, float width, float height){
+        coneRays = Math.max(2, (int)(budget * CONE_SHARE));
+        sideRays = Math.max(2, (int)(budget * SIDE_SHARE));
+        this.budget = Math.max(budget, coneRays + sideRays);
+        this.mesh = mesh;
+        grid = new TreeGrid(mesh, width, height, 64f);
+
+        angles = new float[this.budget];
+        hitX = new float[this.budget];
+        hitY = new float[this.budget];
+        owners = new int[this.budget];
+
+        // Every evenly spaced pair & both halves of every split ray can be queued, at most two per ray
+        int gaps = 2 * this.budget;
+        gapA = new float[gaps];
+        gapB = new float[gaps];
+        gapOwnerA = new int[gaps];
+        gapOwnerB = new int[gaps];
+        gapDepth = new int[gaps];
+    }
+
+
+    /**
+     * Register a newly planted tree with the broad phase
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    @Override
+    public void add(int tree){ grid.add(tree); }
+
+
+    /**
+     * Cast evenly spaced rays, dense inside the cone and sparse outside, then split the gaps between neighbouring
+     * rays that hit different things until the budget runs out. Gaps are split a level at a time, every gap's split
+     * once before any half is split again, so a short budget's spread over every edge rather than spent on the first.
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if any ray hit the player first
+     */
+    @Override
+    public boolean update(Wolf wolf, Player player){
+        ox = wolf.pos().x;
+        oy = wolf.pos().y;
+        heading = wolf.radians();
+        count = 0;
+        playerVisible = false;
+        mesh.setDynamic(player.getShapex(), player.getShapey());
+
+        // Evenly spaced rays, in counter-clockwise order starting at the right edge of the cone
+        float coneStep = 2 * CONE / coneRays;
+        float sideStep = (MathUtils.PI2 - 2 * CONE) / sideRays;
+        for(int i = 0; i < coneRays; i++){
+            cast(heading - CONE + (i + .5f) * coneStep);
+        }
+        for(int i = 0; i < sideRays; i++){
+            cast(heading + CONE + (i + .5f) * sideStep);
+        }
+
+        // Queue the neighbours that hit different things, the last neighbour pair wraps round the circle
+        head = tail = 0;
+        int base = count;
+        for(int i = 0; i < base; i++){
+            int j = (i + 1) % base;
+            float end = j == 0 ? angles[j] + MathUtils.PI2 : angles[j];
+            queue(angles[i], owners[i], end, owners[j], 1);
+        }
+
+        // Split them breadth first, the halves queue behind the rest of their level
+        while(head < tail && count < budget){
+            float a = gapA[head], b = gapB[head];
+            int ownerA = gapOwnerA[head], ownerB = gapOwnerB[head], depth = gapDepth[head];
+            head++;
+
+            float mid = (a + b) / 2;
+            int ownerMid = cast(mid);
+            queue(a, ownerA, mid, ownerMid, depth + 1);
+            queue(mid, ownerMid, b, ownerB, depth + 1);
+        }
+
+        return playerVisible;
+    }
+
+
+    /**
+     * Draw every ray cast this frame
+     *
+     * @param sr (ShapeRenderer) - Draws the rays
+     */
+    @Override
+    public void draw(ShapeRenderer sr){
+        for(int i = 0; i < count; i++){
+            sr.line(ox, oy, hitX[i], hitY[i]);
+        }
+    }
+
+
+    /**
+     * Get the number of rays cast in the last frame
+     *
+     * @return (int) - Ray count, at most the budget
+     */
+    public int getRayCount(){ return count; }
+
+
+    /**
+     * Queue the gap between two rays to be split by a ray down the middle, if they hit different things and it
+     * hasn't been split too often
+     *
+     * @param a (float)    - Angle of the first ray
+     * @param ownerA (int) - What the first ray hit
+     * @param b (float)    - Angle of the second ray, counter-clockwise of a
+     * @param ownerB (int) - What the second ray hit
+     * @param depth (int)  - Number of splits so far, counting this one
+     */
+    private void queue(float a, int ownerA, float b, int ownerB, int depth){
+        if(ownerA == ownerB || depth > MAX_DEPTH) return;
+
+        gapA[tail] = a;
+        gapB[tail] = b;
+        gapOwnerA[tail] = ownerA;
+        gapOwnerB[tail] = ownerB;
+        gapDepth[tail] = depth;
+        tail++;
+    }
+
+
+    /**
+     * Cast a ray and record it
+     *
+     * @param angle (float) - Angle of the ray
+     * @return (int)        - What the ray hit, a tree id, PLAYER or NOTHING
+     */
+    private int cast(float angle){
+        float length = RayBatch.inCone(angle, heading) ? RayBatch.CONE_LENGTH : RayBatch.SIDE_LENGTH;
+        float dx = MathUtils.cos(angle) * length;
+        float dy = MathUtils.sin(angle) * length;
+        int owner = NOTHING;
+
+        // Walls, then the player
+        float closest = grid.cast(0, ox, oy, dx, dy, RayKernel.MISS);
+        if(closest != RayKernel.MISS) owner = grid.getLastHit();
+        float playerHit = mesh.castDynamic(ox, oy, dx, dy, closest);
+        if(playerHit < closest){
+            closest = playerHit;
+            owner = PLAYER;
+            playerVisible = true;
+        }
+        if(closest == RayKernel.MISS) closest = 1;
+
+        angles[count] = angle;
+        hitX[count] = ox + closest * dx;
+        hitY[count] = oy + closest * dy;
+        owners[count] = owner;
+        count++;
+        return owner;
+    }
+}
@@ -0,0 +1,157 @@
+package com.toni.vision;
+
+import java.util.Arrays;
+
+public class AngularCuller implements VisionBroadPhase {
+    private static final float PI_2 = 6.28319f;
+    private static final int RAY_TREES = 32;  // Room for this many trees per ray, a won game's forest puts ~22 in front
+
+    private final int numbRays;     // Number of rays spread evenly around the circle
+    private final float step;       // Angle between neighbouring rays
+    private final float maxLength;  // Longest vision vector, trees further away are skipped
+
+    private OccluderMesh mesh;      // Every tree's edges & bounding circle, ids index the arrays below
+    private float[] near;           // Closest distance from the origin to each tree's bounding circle
+    private int[] spanFirst;        // First ray inside each tree's angular span
+    private int[] spanCount;        // Number of rays inside each tree's angular span
+    private long[] order;           // Visible trees sorted nearest first, near bits << 32 | id
+
+    private int[] start;            // Each ray's trees are entries[start[ray]] to entries[start[ray + 1]]
+    private int[] entries;          // Tree ids per ray, nearest first
+    private int[] fill;             // Next free slot per ray while the entries are built
+
+
+    /**
+     * Create an angular culler for an evenly spaced fan of rays
+     *
+     * @param mesh (OccluderMesh) - Tree edges & bounding circles
+     * @param numbRays (int)      - Number of rays, ray i is at angle i * 2PI / numbRays
+     * @param maxLength (float)   - Length of the longest vision vector
+     */
+    public AngularCuller(OccluderMesh mesh, int numbRays, float maxLength){
+        this.mesh = mesh;
+        this.numbRays = numbRays;
+        this.maxLength = maxLength;
+        step = PI_2 / numbRays;
+
+        // Room for every tree the mesh holds, so planting doesn't grow the arrays
+        int trees = Math.max(64, mesh.circleX.length);
+        near = new float[trees];
+        spanFirst = new int[trees];
+        spanCount = new int[trees];
+        order = new long[trees];
+
+        start = new int[numbRays + 1];
+        fill = new int[numbRays];
+        entries = new int[numbRays * RAY_TREES];
+    }
+
+
+    /**
+     * Make room for a tree, every tree in the mesh is looked at in prepare()
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    @Override
+    public void add(int tree){
+        if(tree >= near.length){
+            int capacity = Math.max(tree + 1, near.length * 2);
+            near = Arrays.copyOf(near, capacity);
+            spanFirst = Arrays.copyOf(spanFirst, capacity);
+            spanCount = Arrays.copyOf(spanCount, capacity);
+            order = Arrays.copyOf(order, capacity);
+        }
+    }
+
+
+    /**
+     * Work out the angular span each tree covers from the origin, sort the trees nearest first and hand each ray
+     * the trees whose span contains its angle
+     *
+     * @param ox (float) - x-coordinate the rays are cast from
+     * @param oy (float) - y-coordinate the rays are cast from
+     */
+    @Override
+    public void prepare(float ox, float oy){
+        int visible = 0;
+        float dx, dy, dist, center, half;
+
+        // Room for every tree in the mesh, even ones planted since the last add()
+        add(mesh.size() - 1);
+
+        // Keep the trees that are in range, keyed on their distance. Non-negative float bits sort like the floats
+        for(int i = 0; i < mesh.size(); i++){
+            dx = mesh.circleX[i] - ox;
+            dy = mesh.circleY[i] - oy;
+            dist = (float)Math.sqrt(dx * dx + dy * dy);
+            near[i] = Math.max(0, dist - mesh.circleR[i]);
+            if(near[i] >= maxLength) continue;
+
+            if(dist <= mesh.circleR[i]){
+                // Origin is inside the tree's bounding circle, every ray may hit it
+                spanFirst[i] = 0;
+                spanCount[i] = numbRays;
+            } else {
+                // Rays within asin(r / d) of the direction to the tree, padded by a ray on each side for rounding
+                center = (float)Math.atan2(dy, dx);
+                half = (float)Math.asin(mesh.circleR[i] / dist);
+                int first = (int)Math.floor((center - half) / step) - 1;
+                int last = (int)Math.ceil((center + half) / step) + 1;
+                spanFirst[i] = ((first % numbRays) + numbRays) % numbRays;
+                spanCount[i] = Math.min(last - first + 1, numbRays);
+            }
+            order[visible++] = ((long)Float.floatToIntBits(near[i]) << 32) | i;
+        }
+        Arrays.sort(order, 0, visible);
+
+        // Count how many trees each ray sees
+        Arrays.fill(start, 0);
+        for(int k = 0; k < visible; k++){
+            int id = (int)order[k];
+            for(int r = 0; r < spanCount[id]; r++){
+                start[(spanFirst[id] + r) % numbRays + 1]++;
+            }
+        }
+        for(int r = 0; r < numbRays; r++){
+            start[r + 1] += start[r];
+        }
+        if(start[numbRays] > entries.length){
+            // Denser than a normal game, room for twice as many so a growing forest seldom grows it again
+            entries = new int[Math.max(start[numbRays] * 2, entries.length * 2)];
+        }
+
+        // Hand out the trees in sorted order, so each ray's list ends up nearest first
+        System.arraycopy(start, 0, fill, 0, numbRays);
+        for(int k = 0; k < visible; k++){
+            int id = (int)order[k];
+            for(int r = 0; r < spanCount[id]; r++){
+                entries[fill[(spanFirst[id] + r) % numbRays]++] = id;
+            }
+        }
+    }
+
+
+    /**
+     * Cast a ray against the trees in its angular span, nearest first. Stops once the next tree can't be closer
+     * than the closest hit.
+     *
+     * @param ray (int)    - Index of the ray
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the trees, RayKernel.MISS if nothing was hit
+     */
+    @Override
+    public float cast(int ray, float ox, float oy, float dx, float dy, float best){
+        float length = (float)Math.sqrt(dx * dx + dy * dy);
+        for(int k = start[ray]; k < start[ray + 1]; k++){
+            int id = entries[k];
+            if(best != RayKernel.MISS && near[id] >= best * length) break;
+
+            best = mesh.castOccluder(id, ox, oy, dx, dy, best);
+        }
+        return best;
+    }
+}
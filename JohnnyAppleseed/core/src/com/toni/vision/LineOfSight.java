@@ -0,0 +1,70 @@
+package com.toni.vision;
+
+import com.toni.entities.ConvexShape;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+public class LineOfSight {
+    private static final float INSET = .05f; // Share of the way a sight point is pulled from the outline to the centre
+
+    private TreeGrid grid;                   // Occluders, works for sight lines at any angle
+
+
+    /**
+     * Create a line of sight query
+     *
+     * @param grid (TreeGrid) - Occluders, kept up to date by the owner
+     */
+    public LineOfSight(TreeGrid grid){
+        this.grid = grid;
+    }
+
+
+    /**
+     * Check if the wolf can see the player. The player's centre, corners and edge midpoints are each tested for
+     * range against the cone, then for occlusion along a single sight line, so at most a handful of lines are cast.
+     * Corners & midpoints are pulled slightly inside the outline so a sight line never grazes the player's own edge.
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if any sight line reaches the player unblocked
+     */
+    public boolean canSee(Wolf wolf, Player player){
+        float ox = wolf.pos().x, oy = wolf.pos().y;
+        float cx = player.pos().x, cy = player.pos().y;
+        float[] sx = player.getShapex(), sy = player.getShapey();
+
+        // Whole player is beyond the longest vision vector
+        ConvexShape bounds = player.getShape();
+        float dx = bounds.getCenterX() - ox, dy = bounds.getCenterY() - oy;
+        if((float)Math.sqrt(dx * dx + dy * dy) - bounds.getRadius() >= RayBatch.CONE_LENGTH) return false;
+
+        if(sees(wolf, cx, cy)) return true;
+        for(int i = 0, j = sx.length - 1; i < sx.length; j = i++){
+            if(sees(wolf, sx[i] + (cx - sx[i]) * INSET, sy[i] + (cy - sy[i]) * INSET)) return true;
+
+            float mx = (sx[i] + sx[j]) / 2, my = (sy[i] + sy[j]) / 2;
+            if(sees(wolf, mx + (cx - mx) * INSET, my + (cy - my) * INSET)) return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Check if a point is in the wolf's range and nothing blocks the line to it
+     *
+     * @param wolf (Wolf) - Wolf doing the looking
+     * @param x (float)   - x-coordinate of the point
+     * @param y (float)   - y-coordinate of the point
+     * @return (boolean)  - True if the point's visible
+     */
+    private boolean sees(Wolf wolf, float x, float y){
+        float ox = wolf.pos().x, oy = wolf.pos().y;
+        float dx = x - ox, dy = y - oy;
+        float range = RayBatch.inCone((float)Math.atan2(dy, dx), wolf.radians()) ? RayBatch.CONE_LENGTH : RayBatch.SIDE_LENGTH;
+        if(dx * dx + dy * dy >= range * range) return false;
+
+        // The sight line ends at the point, so any hit at all is in front of it
+        return grid.cast(0, ox, oy, dx, dy, RayKernel.MISS) == RayKernel.MISS;
+    }
+}
@@ -0,0 +1,153 @@
+package com.toni.vision;
+
+import com.toni.entities.TreeField;
+
+import java.util.Arrays;
+
+public class OccluderMesh {
+    static final int EDGES = TreeField.VERTICES; // Edges per occluder, occluder i's are i * EDGES to i * EDGES + EDGES - 1
+
+    private final TreeField field; // Forest the occluders are built from, occluder i is tree i
+    private int size;              // Number of occluders in the static layer
+
+    // Static layer, every tree edge in one buffer. Trees never move, so it only changes when one's planted
+    float[] edgeX, edgeY;          // Start point of each edge
+    float[] edgeDX, edgeDY;        // End point minus start point of each edge
+    float[] circleX, circleY;      // Centre of each occluder's bounding circle
+    float[] circleR;               // Radius of each occluder's bounding circle
+
+    // Dynamic layer, the player's edges, rewritten every frame
+    float[] dynX, dynY;            // Start point of each edge
+    float[] dynDX, dynDY;          // End point minus start point of each edge
+    int dynCount;                  // Number of dynamic edges
+
+
+    /**
+     * Create a mesh over a forest, the trees already planted are added
+     *
+     * @param field (TreeField) - Forest the occluders are built from
+     */
+    public OccluderMesh(TreeField field){
+        this.field = field;
+        int capacity = Math.max(16, field.capacity());
+        edgeX = new float[capacity * EDGES];
+        edgeY = new float[capacity * EDGES];
+        edgeDX = new float[capacity * EDGES];
+        edgeDY = new float[capacity * EDGES];
+        circleX = new float[capacity];
+        circleY = new float[capacity];
+        circleR = new float[capacity];
+
+        dynX = new float[4];
+        dynY = new float[4];
+        dynDX = new float[4];
+        dynDY = new float[4];
+        rebuild();
+    }
+
+
+    /**
+     * Append a newly planted tree's edges and bounding circle to the static layer
+     *
+     * @param tree (int) - Id of the tree in the forest, the next id after the last one added
+     */
+    public void add(int tree){
+        if(tree >= circleX.length){
+            int capacity = Math.max(tree + 1, circleX.length * 2);
+            edgeX = Arrays.copyOf(edgeX, capacity * EDGES);
+            edgeY = Arrays.copyOf(edgeY, capacity * EDGES);
+            edgeDX = Arrays.copyOf(edgeDX, capacity * EDGES);
+            edgeDY = Arrays.copyOf(edgeDY, capacity * EDGES);
+            circleX = Arrays.copyOf(circleX, capacity);
+            circleY = Arrays.copyOf(circleY, capacity);
+            circleR = Arrays.copyOf(circleR, capacity);
+        }
+
+        // Edge k runs from vertex k back to vertex k - 1, the same order RayKernel.castPolygon walks them
+        float[] vx = field.getVerticesX(), vy = field.getVerticesY();
+        int base = tree * TreeField.VERTICES;
+        for(int k = 0, j = EDGES - 1; k < EDGES; j = k++){
+            edgeX[base + k] = vx[base + k];
+            edgeY[base + k] = vy[base + k];
+            edgeDX[base + k] = vx[base + j] - vx[base + k];
+            edgeDY[base + k] = vy[base + j] - vy[base + k];
+        }
+        circleX[tree] = field.getX(tree);
+        circleY[tree] = field.getY(tree);
+        circleR[tree] = TreeField.RADIUS;
+        size = Math.max(size, tree + 1);
+    }
+
+
+    /**
+     * Throw away the static layer and rebuild it from every tree in the forest
+     */
+    public void rebuild(){
+        size = 0;
+        for(int i = 0; i < field.size(); i++){
+            add(i);
+        }
+    }
+
+
+    /**
+     * Get the number of occluders in the static layer
+     *
+     * @return (int) - Number of trees added
+     */
+    public int size(){ return size; }
+
+
+    /**
+     * Replace the dynamic layer with a closed polygon's edges, called once per frame before casting
+     *
+     * @param px (float[]) - x vertices of the polygon
+     * @param py (float[]) - y vertices of the polygon
+     */
+    public void setDynamic(float[] px, float[] py){
+        if(px.length > dynX.length){
+            dynX = new float[px.length];
+            dynY = new float[px.length];
+            dynDX = new float[px.length];
+            dynDY = new float[px.length];
+        }
+        for(int k = 0, j = px.length - 1; k < px.length; j = k++){
+            dynX[k] = px[k];
+            dynY[k] = py[k];
+            dynDX[k] = px[j] - px[k];
+            dynDY[k] = py[j] - py[k];
+        }
+        dynCount = px.length;
+    }
+
+
+    /**
+     * Cast a ray against one occluder's edges
+     *
+     * @param occluder (int) - Id of the tree
+     * @param ox (float)     - x-coordinate of the ray's origin
+     * @param oy (float)     - y-coordinate of the ray's origin
+     * @param dx (float)     - x-component of the ray's vision vector
+     * @param dy (float)     - y-component of the ray's vision vector
+     * @param best (float)   - Closest u found so far
+     * @return (float)       - Closest u out of best and the occluder's edges
+     */
+    public float castOccluder(int occluder, float ox, float oy, float dx, float dy, float best){
+        return RayKernel.castEdges(edgeX, edgeY, edgeDX, edgeDY, occluder * EDGES, EDGES, ox, oy, dx, dy, best);
+    }
+
+
+    /**
+     * Cast a ray against the dynamic layer
+     *
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the dynamic edges
+     */
+    public float castDynamic(float ox, float oy, float dx, float dy, float best){
+        return RayKernel.castEdges(dynX, dynY, dynDX, dynDY, 0, dynCount, ox, oy, dx, dy, best);
+    }
+}
@@ -0,0 +1,647 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+import java.util.Arrays;
+
+public class PolygonVisionEngine implements VisionEngine {
+    private static final float CONE         = RayBatch.CONE_ANGLE;
+    private static final float ARC_STEP     = 0.05f;   // Largest angle between two vertices of a range arc
+    private static final int   SPLIT        = -1;      // Event code for events that only split the sweep
+    private static final int   CROSS        = -2;      // Event code of crossing 0, crossing c's is CROSS - c
+    private static final int   PLAYER_EDGES = 8;       // Room for the player's edges on top of the trees'
+
+    private OccluderMesh mesh;   // Occluders, the player's the dynamic layer
+
+    private float ox, oy;        // Origin of the sweep
+    private float heading;       // Angle the wolf is facing
+
+    private float[] sx, sy;      // Edge start points, relative to the origin. The end is counter-clockwise of the start
+    private float[] ex, ey;      // Edge end points, relative to the origin
+    private float[] vx, vy;      // Edge vectors, end minus start
+    private float[] moment;      // Cross product of each edge's start & vector, distance along a direction is this
+                                 // over the direction crossed with the vector
+    private int segCount;        // Number of edges this frame
+    private int playerFrom;      // Edges at or after this index belong to the player
+
+    private long[] events;       // Angle bits << 32 | event code, code is edge * 2 (+1 for an end), SPLIT or a crossing
+    private int eventCount;      // Number of events this frame
+
+    private int[] trees;         // Trees within range this frame
+    private int[] treeFrom;      // First edge of each tree in range, its last is the next one's first - 1
+    private long[] byLeft;       // Trees in range sorted by their circle's left edge, left bits << 32 | tree index
+    private int treeCount;       // Number of trees in range
+
+    private int[] crossA, crossB;  // The two edges that cross at each crossing, they swap order there
+    private boolean[] crossed;     // Whether an edge was taken out of the heap at a crossing, to go back in after it
+    private int crossCount;        // Number of crossings this frame
+
+    private int[] heap;          // Edges spanning the current angle, a binary min-heap on distance along look
+    private int[] where;         // Index of each edge in the heap, -1 if it isn't in it
+    private int heapSize;        // Number of edges in the heap
+    private float lookX, lookY;  // Unit direction the heap's edges are compared along
+
+    private float[] polygon;     // Visibility polygon, xy pairs in counter-clockwise order
+    private int polygonCount;    // Number of floats in the polygon
+
+    private boolean playerVisible; // Whether any stretch of the polygon is the player
+
+
+    /**
+     * Create a visibility polygon engine, sized for every tree the mesh has room for so a growing forest doesn't grow
+     * the arrays. Each edge has at most six events of its own: its ends and two crossings of each range circle. Room's
+     * left for one crossing with another tree's edge per edge, neighbouring trees overlap by a few edges at most.
+     *
+     * @param mesh (OccluderMesh) - Occluders the wolf looks through
+     */
+    public PolygonVisionEngine(OccluderMesh mesh){
+        this.mesh = mesh;
+        int capacity = mesh.circleX.length;
+        int edges = capacity * OccluderMesh.EDGES + PLAYER_EDGES;
+        sx = new float[edges];
+        sy = new float[edges];
+        ex = new float[edges];
+        ey = new float[edges];
+        vx = new float[edges];
+        vy = new float[edges];
+        moment = new float[edges];
+        events = new long[edges * 7 + 2];
+
+        trees = new int[capacity];
+        treeFrom = new int[capacity + 1];
+        byLeft = new long[capacity];
+        crossA = new int[edges];
+        crossB = new int[edges];
+        crossed = new boolean[edges];
+        heap = new int[edges];
+        where = new int[edges];
+
+        // Two vertices per stretch between events, plus the arcs where nothing's in range
+        polygon = new float[2 * (2 * (events.length + 1) + (int)Math.ceil(MathUtils.PI2 / ARC_STEP) + 1)];
+    }
+
+
+    // Not needed, every tree in the mesh is swept
+    @Override
+    public void add(int tree){ }
+
+
+    /**
+     * Sweep around the wolf and rebuild the visibility polygon. Events are the edge endpoints, the points where edges
+     * cross the two range circles or each other and the edges of the cone, so between two neighbouring events the
+     * closest edge doesn't change. The edges spanning the sweep are kept in a heap ordered by distance along it, edges
+     * that don't cross keep their order, so each event costs O(log n) and the whole sweep O((n + k) log n) for n edges
+     * and k crossings. Only trees whose bounding circles overlap can cross, they're found by sorting the trees.
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if part of the player's on the polygon's boundary
+     */
+    @Override
+    public boolean update(Wolf wolf, Player player){
+        ox = wolf.pos().x;
+        oy = wolf.pos().y;
+        heading = wolf.radians();
+        segCount = eventCount = treeCount = crossCount = heapSize = polygonCount = 0;
+        playerVisible = false;
+
+        // Trees planted since the mesh last grew need room, they're refilled every frame
+        if(mesh.size() > trees.length){
+            trees = new int[mesh.circleX.length];
+            treeFrom = new int[mesh.circleX.length + 1];
+            byLeft = new long[mesh.circleX.length];
+        }
+
+        // Gather the edges of every tree within range, straight from the mesh's static layer
+        float dx, dy, reach;
+        for(int i = 0; i < mesh.size(); i++){
+            dx = mesh.circleX[i] - ox;
+            dy = mesh.circleY[i] - oy;
+            reach = RayBatch.CONE_LENGTH + mesh.circleR[i];
+            if(dx * dx + dy * dy >= reach * reach) continue;
+            trees[treeCount] = i;
+            treeFrom[treeCount++] = segCount;
+            addEdges(mesh.edgeX, mesh.edgeY, mesh.edgeDX, mesh.edgeDY, i * OccluderMesh.EDGES, OccluderMesh.EDGES);
+        }
+        treeFrom[treeCount] = playerFrom = segCount;
+        mesh.setDynamic(player.getShapex(), player.getShapey());
+        addEdges(mesh.dynX, mesh.dynY, mesh.dynDX, mesh.dynDY, 0, mesh.dynCount);
+        addTreeCrossings();
+        addPlayerCrossings();
+
+        // The range changes at the edges of the cone
+        addEvent(heading - CONE, SPLIT);
+        addEvent(heading + CONE, SPLIT);
+
+        Arrays.sort(events, 0, eventCount);
+        Arrays.fill(where, 0, segCount, -1);
+        Arrays.fill(crossed, 0, segCount, false);
+
+        // Edges that wrap past angle 0 are already spanning the start of the sweep. The split events mean there's
+        // always at least one angle with events
+        float prev = 0, prevX = 1, prevY = 0;
+        float a = eventAngle(0), ax = (float)Math.cos(a), ay = (float)Math.sin(a);
+        float next, nextX, nextY;
+        look(prev, prevX, prevY, a, ax, ay);
+        for(int s = 0; s < segCount; s++){
+            if(angle(sx[s], sy[s]) > angle(ex[s], ey[s])){ insert(s); }
+        }
+
+        // Sweep counter-clockwise, emitting the stretch before each angle that has events. The heap's compared along
+        // the stretch before it as edges leave, and along the one after as they join, so a crossing's edges leave
+        // and join again in their new order
+        int k = 0, last;
+        while(k < eventCount){
+            for(last = k + 1; last < eventCount && eventAngle(last) == a; last++){ }
+            next = last < eventCount ? eventAngle(last) : MathUtils.PI2;
+            nextX = (float)Math.cos(next);
+            nextY = (float)Math.sin(next);
+
+            if(a > prev) emit(prev, prevX, prevY, a, ax, ay);
+            for(int e = k; e < last; e++){ leave((int)events[e]); }
+            look(a, ax, ay, next, nextX, nextY);
+            for(int e = k; e < last; e++){ join((int)events[e]); }
+
+            prev = a; prevX = ax; prevY = ay;
+            a = next; ax = nextX; ay = nextY;
+            k = last;
+        }
+        emit(prev, prevX, prevY, a, ax, ay);
+
+        return playerVisible;
+    }
+
+
+    /**
+     * Draw the outline of the visibility polygon
+     *
+     * @param sr (ShapeRenderer) - Draws the polygon
+     */
+    @Override
+    public void draw(ShapeRenderer sr){
+        for(int i = 0, j = polygonCount - 2; i < polygonCount; j = i, i += 2){
+            sr.line(polygon[j], polygon[j + 1], polygon[i], polygon[i + 1]);
+        }
+    }
+
+
+    /**
+     * Get the visibility polygon
+     *
+     * @return (float[]) - xy pairs in counter-clockwise order, only the first getPolygonCount() floats are valid
+     */
+    public float[] getPolygon(){ return polygon; }
+
+
+    /**
+     * Get the number of floats in the visibility polygon
+     *
+     * @return (int) - Twice the number of vertices
+     */
+    public int getPolygonCount(){ return polygonCount; }
+
+
+    /**
+     * Add a run of mesh edges
+     *
+     * @param px (float[])  - x-coordinates of the edge start points
+     * @param py (float[])  - y-coordinates of the edge start points
+     * @param pdx (float[]) - x-components of the edges
+     * @param pdy (float[]) - y-components of the edges
+     * @param offset (int)  - Index of the first edge
+     * @param count (int)   - Number of edges
+     */
+    private void addEdges(float[] px, float[] py, float[] pdx, float[] pdy, int offset, int count){
+        for(int i = offset; i < offset + count; i++){
+            addSegment(px[i] - ox, py[i] - oy, px[i] + pdx[i] - ox, py[i] + pdy[i] - oy);
+        }
+    }
+
+
+    /**
+     * Add an edge along with its start, end and range-crossing events
+     *
+     * @param x1 (float) - x-coordinate of the first endpoint, relative to the origin
+     * @param y1 (float) - y-coordinate of the first endpoint, relative to the origin
+     * @param x2 (float) - x-coordinate of the second endpoint, relative to the origin
+     * @param y2 (float) - y-coordinate of the second endpoint, relative to the origin
+     */
+    private void addSegment(float x1, float y1, float x2, float y2){
+        float cross = x1 * y2 - y1 * x2;
+
+        // Edge-on to the origin, it can't hide anything
+        if(cross < .0001f && cross > -.0001f) return;
+
+        if(segCount == sx.length){
+            sx = Arrays.copyOf(sx, segCount * 2);
+            sy = Arrays.copyOf(sy, segCount * 2);
+            ex = Arrays.copyOf(ex, segCount * 2);
+            ey = Arrays.copyOf(ey, segCount * 2);
+            vx = Arrays.copyOf(vx, segCount * 2);
+            vy = Arrays.copyOf(vy, segCount * 2);
+            moment = Arrays.copyOf(moment, segCount * 2);
+            crossed = Arrays.copyOf(crossed, segCount * 2);
+            heap = Arrays.copyOf(heap, segCount * 2);
+            where = Arrays.copyOf(where, segCount * 2);
+        }
+
+        // Order the endpoints counter-clockwise
+        if(cross > 0){
+            sx[segCount] = x1; sy[segCount] = y1;
+            ex[segCount] = x2; ey[segCount] = y2;
+        } else {
+            sx[segCount] = x2; sy[segCount] = y2;
+            ex[segCount] = x1; ey[segCount] = y1;
+        }
+
+        // Too thin to span an angle, it'd be taken out of the heap before it was put in
+        float start = angle(sx[segCount], sy[segCount]), end = angle(ex[segCount], ey[segCount]);
+        if(start == end) return;
+
+        vx[segCount] = ex[segCount] - sx[segCount];
+        vy[segCount] = ey[segCount] - sy[segCount];
+        moment[segCount] = sx[segCount] * vy[segCount] - sy[segCount] * vx[segCount];
+        addEvent(start, segCount * 2);
+        addEvent(end, segCount * 2 + 1);
+        addCrossings(segCount, RayBatch.CONE_LENGTH);
+        addCrossings(segCount, RayBatch.SIDE_LENGTH);
+        segCount++;
+    }
+
+
+    /**
+     * Add split events where an edge crosses a range circle, so an edge never changes sides of the range within a
+     * stretch
+     *
+     * @param s (int)       - Edge index
+     * @param range (float) - Radius of the circle
+     */
+    private void addCrossings(int s, float range){
+        float dx = ex[s] - sx[s], dy = ey[s] - sy[s];
+        float a = dx * dx + dy * dy;
+        float b = sx[s] * dx + sy[s] * dy;
+        float c = sx[s] * sx[s] + sy[s] * sy[s] - range * range;
+        float disc = b * b - a * c;
+        if(disc <= 0) return;
+
+        float root = (float)Math.sqrt(disc);
+        float w = (-b - root) / a;
+        if(w > 0 && w < 1) addEvent(angle(sx[s] + w * dx, sy[s] + w * dy), SPLIT);
+        w = (-b + root) / a;
+        if(w > 0 && w < 1) addEvent(angle(sx[s] + w * dx, sy[s] + w * dy), SPLIT);
+    }
+
+
+    /**
+     * Add a crossing event wherever two overlapping trees' edges cross. The trees are sorted by the left edge of their
+     * bounding circles and each is only checked against the ones that start before it ends.
+     */
+    private void addTreeCrossings(){
+        // Shifted so every left edge in range is positive, then the float bits sort like the floats
+        float shift = 2 * RayBatch.CONE_LENGTH;
+        for(int t = 0; t < treeCount; t++){
+            float left = mesh.circleX[trees[t]] - mesh.circleR[trees[t]] - ox + shift;
+            byLeft[t] = ((long)Float.floatToIntBits(left) << 32) | t;
+        }
+        Arrays.sort(byLeft, 0, treeCount);
+
+        float dx, dy, reach;
+        for(int i = 0; i < treeCount; i++){
+            int a = (int)byLeft[i], treeA = trees[a];
+            float right = mesh.circleX[treeA] + mesh.circleR[treeA];
+            for(int j = i + 1; j < treeCount; j++){
+                int b = (int)byLeft[j], treeB = trees[b];
+                if(mesh.circleX[treeB] - mesh.circleR[treeB] > right) break;
+
+                dx = mesh.circleX[treeB] - mesh.circleX[treeA];
+                dy = mesh.circleY[treeB] - mesh.circleY[treeA];
+                reach = mesh.circleR[treeA] + mesh.circleR[treeB];
+                if(dx * dx + dy * dy < reach * reach){
+                    addEdgeCrossings(treeFrom[a], treeFrom[a + 1], treeFrom[b], treeFrom[b + 1]);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Add a crossing event wherever the player's edges cross a tree's, checking the trees whose bounding circles
+     * overlap the player's
+     */
+    private void addPlayerCrossings(){
+        if(segCount == playerFrom) return;
+
+        // Bounding circle of the player's vertices
+        float cx = 0, cy = 0, r = 0, dx, dy;
+        for(int k = 0; k < mesh.dynCount; k++){
+            cx += mesh.dynX[k];
+            cy += mesh.dynY[k];
+        }
+        cx /= mesh.dynCount;
+        cy /= mesh.dynCount;
+        for(int k = 0; k < mesh.dynCount; k++){
+            dx = mesh.dynX[k] - cx;
+            dy = mesh.dynY[k] - cy;
+            r = Math.max(r, dx * dx + dy * dy);
+        }
+        r = (float)Math.sqrt(r);
+
+        float reach;
+        for(int t = 0; t < treeCount; t++){
+            dx = mesh.circleX[trees[t]] - cx;
+            dy = mesh.circleY[trees[t]] - cy;
+            reach = mesh.circleR[trees[t]] + r;
+            if(dx * dx + dy * dy < reach * reach){
+                addEdgeCrossings(treeFrom[t], treeFrom[t + 1], playerFrom, segCount);
+            }
+        }
+    }
+
+
+    /**
+     * Add a crossing event for every pair of edges from two runs that cross each other
+     *
+     * @param fromA (int) - First edge of the first run
+     * @param toA (int)   - One past the last edge of the first run
+     * @param fromB (int) - First edge of the second run
+     * @param toB (int)   - One past the last edge of the second run
+     */
+    private void addEdgeCrossings(int fromA, int toA, int fromB, int toB){
+        float rx, ry, qx, qy, px, py, denominator, u, v;
+        for(int a = fromA; a < toA; a++){
+            rx = vx[a];
+            ry = vy[a];
+            for(int b = fromB; b < toB; b++){
+                qx = vx[b];
+                qy = vy[b];
+                denominator = rx * qy - ry * qx;
+                if(denominator < .000001f && denominator > -.000001f) continue;
+
+                px = sx[b] - sx[a];
+                py = sy[b] - sy[a];
+                u = (px * qy - py * qx) / denominator;
+                v = (px * ry - py * rx) / denominator;
+                if(u <= 0 || u >= 1 || v <= 0 || v >= 1) continue;
+
+                if(crossCount == crossA.length){
+                    crossA = Arrays.copyOf(crossA, crossCount * 2);
+                    crossB = Arrays.copyOf(crossB, crossCount * 2);
+                }
+                crossA[crossCount] = a;
+                crossB[crossCount] = b;
+                addEvent(angle(sx[a] + u * rx, sy[a] + u * ry), CROSS - crossCount++);
+            }
+        }
+    }
+
+
+    /**
+     * Add an event to the sweep
+     *
+     * @param a (float)  - Angle of the event, any value, it's wrapped into [0, 2PI)
+     * @param code (int) - Event code
+     */
+    private void addEvent(float a, int code){
+        if(eventCount == events.length){ events = Arrays.copyOf(events, eventCount * 2); }
+
+        // Wrap the angle, adding 0 turns -0 into 0 so the bits sort like the floats
+        if(a < 0) a += MathUtils.PI2;
+        if(a >= MathUtils.PI2) a -= MathUtils.PI2;
+        a += 0f;
+        events[eventCount++] = ((long)Float.floatToIntBits(a) << 32) | (code & 0xffffffffL);
+    }
+
+
+    /**
+     * Emit the polygon stretch between two event angles, the heap's compared along it. The closest edge spanning it,
+     * the top of the heap, is visible for the whole stretch if it's within range, otherwise the wolf sees as far as
+     * its range.
+     *
+     * @param a (float)  - Angle the stretch starts at
+     * @param ax (float) - Cosine of a
+     * @param ay (float) - Sine of a
+     * @param b (float)  - Angle the stretch ends at
+     * @param bx (float) - Cosine of b
+     * @param by (float) - Sine of b
+     */
+    private void emit(float a, float ax, float ay, float b, float bx, float by){
+        float range = RayBatch.inCone((a + b) / 2, heading) ? RayBatch.CONE_LENGTH : RayBatch.SIDE_LENGTH;
+        int closest = heapSize > 0 && distance(heap[0], lookX, lookY) < range ? heap[0] : -1;
+
+        if(closest >= 0){
+            if(closest >= playerFrom){ playerVisible = true; }
+            addVertex(ax, ay, distance(closest, ax, ay));
+            addVertex(bx, by, distance(closest, bx, by));
+        } else {
+            int steps = (int)Math.ceil((b - a) / ARC_STEP);
+            addVertex(ax, ay, range);
+            for(int i = 1; i < steps; i++){
+                float c = a + (b - a) * i / steps;
+                addVertex((float)Math.cos(c), (float)Math.sin(c), range);
+            }
+            addVertex(bx, by, range);
+        }
+    }
+
+
+    /**
+     * Distance from the origin to an edge's line along a direction
+     *
+     * @param s (int)    - Edge index
+     * @param dx (float) - x-component of the unit direction
+     * @param dy (float) - y-component of the unit direction
+     * @return (float)   - Distance, Float.MAX_VALUE if the direction's parallel to the edge
+     */
+    private float distance(int s, float dx, float dy){
+        float denominator = dx * vy[s] - dy * vx[s];
+        if(denominator < .000001f && denominator > -.000001f) return Float.MAX_VALUE;
+        return moment[s] / denominator;
+    }
+
+
+    /**
+     * Add a vertex to the visibility polygon
+     *
+     * @param dx (float)   - x-component of the unit direction to the vertex
+     * @param dy (float)   - y-component of the unit direction to the vertex
+     * @param dist (float) - Distance of the vertex from the origin
+     */
+    private void addVertex(float dx, float dy, float dist){
+        if(polygonCount + 2 > polygon.length){ polygon = Arrays.copyOf(polygon, polygon.length * 2); }
+        polygon[polygonCount++] = ox + dx * dist;
+        polygon[polygonCount++] = oy + dy * dist;
+    }
+
+
+    /**
+     * Angle of a sorted event
+     *
+     * @param k (int)  - Index of the event
+     * @return (float) - Angle in [0, 2PI)
+     */
+    private float eventAngle(int k){ return Float.intBitsToFloat((int)(events[k] >>> 32)); }
+
+
+    /**
+     * Compare the heap's edges along the middle of a stretch. A stretch narrower than half a turn's middle is along
+     * the sum of its ends' directions, no trigonometry needed.
+     *
+     * @param a (float)  - Angle the stretch starts at
+     * @param ax (float) - Cosine of a
+     * @param ay (float) - Sine of a
+     * @param b (float)  - Angle the stretch ends at
+     * @param bx (float) - Cosine of b
+     * @param by (float) - Sine of b
+     */
+    private void look(float a, float ax, float ay, float b, float bx, float by){
+        if(b - a < MathUtils.PI / 2){
+            float length = (float)Math.sqrt((ax + bx) * (ax + bx) + (ay + by) * (ay + by));
+            lookX = (ax + bx) / length;
+            lookY = (ay + by) / length;
+        } else {
+            lookX = (float)Math.cos((a + b) / 2);
+            lookY = (float)Math.sin((a + b) / 2);
+        }
+    }
+
+
+    /**
+     * Take the edges out of the heap that an event ends, a crossing's edges are marked to go back in
+     *
+     * @param code (int) - Event code
+     */
+    private void leave(int code){
+        if(code >= 0){
+            if((code & 1) == 1){
+                remove(code >> 1);
+                crossed[code >> 1] = false;
+            }
+        } else if(code != SPLIT){
+            int c = CROSS - code;
+            if(where[crossA[c]] >= 0){
+                remove(crossA[c]);
+                crossed[crossA[c]] = true;
+            }
+            if(where[crossB[c]] >= 0){
+                remove(crossB[c]);
+                crossed[crossB[c]] = true;
+            }
+        }
+    }
+
+
+    /**
+     * Put the edges into the heap that an event starts, and a crossing's edges back in
+     *
+     * @param code (int) - Event code
+     */
+    private void join(int code){
+        if(code >= 0){
+            if((code & 1) == 0) insert(code >> 1);
+        } else if(code != SPLIT){
+            int c = CROSS - code;
+            if(crossed[crossA[c]]){
+                crossed[crossA[c]] = false;
+                insert(crossA[c]);
+            }
+            if(crossed[crossB[c]]){
+                crossed[crossB[c]] = false;
+                insert(crossB[c]);
+            }
+        }
+    }
+
+
+    /**
+     * Add an edge to the heap, if it isn't already in it
+     *
+     * @param s (int) - Edge index
+     */
+    private void insert(int s){
+        if(where[s] >= 0) return;
+        heap[heapSize] = s;
+        where[s] = heapSize;
+        siftUp(heapSize++);
+    }
+
+
+    /**
+     * Remove an edge from the heap, if it's in it
+     *
+     * @param s (int) - Edge index
+     */
+    private void remove(int s){
+        int i = where[s];
+        if(i < 0) return;
+        where[s] = -1;
+        if(i == --heapSize) return;
+
+        heap[i] = heap[heapSize];
+        where[heap[i]] = i;
+        siftDown(i);
+        siftUp(i);
+    }
+
+
+    /**
+     * Move an edge up the heap while it's closer than its parent
+     *
+     * @param i (int) - Index in the heap
+     */
+    private void siftUp(int i){
+        int s = heap[i];
+        float d = distance(s, lookX, lookY);
+        while(i > 0 && distance(heap[(i - 1) / 2], lookX, lookY) > d){
+            heap[i] = heap[(i - 1) / 2];
+            where[heap[i]] = i;
+            i = (i - 1) / 2;
+        }
+        heap[i] = s;
+        where[s] = i;
+    }
+
+
+    /**
+     * Move an edge down the heap while a child's closer
+     *
+     * @param i (int) - Index in the heap
+     */
+    private void siftDown(int i){
+        int s = heap[i], child;
+        float d = distance(s, lookX, lookY), dc;
+        while((child = 2 * i + 1) < heapSize){
+            dc = distance(heap[child], lookX, lookY);
+            if(child + 1 < heapSize){
+                float right = distance(heap[child + 1], lookX, lookY);
+                if(right < dc){
+                    child++;
+                    dc = right;
+                }
+            }
+            if(dc >= d) break;
+            heap[i] = heap[child];
+            where[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = s;
+        where[s] = i;
+    }
+
+
+    /**
+     * Angle of a point around the origin
+     *
+     * @param x (float) - x-coordinate relative to the origin
+     * @param y (float) - y-coordinate relative to the origin
+     * @return (float)  - Angle in [0, 2PI)
+     */
+    private static float angle(float x, float y){
+        float a = (float)Math.atan2(y, x);
+        if(a < 0) a += MathUtils.PI2;
+        if(a >= MathUtils.PI2) a -= MathUtils.PI2;
+        return a;
+    }
+}
@@ -0,0 +1,184 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+
+public class RayBatch {
+    public static final float CONE_LENGTH = 516;     // Vision length inside the wolf's cone
+    public static final float SIDE_LENGTH = 128;     // Vision length outside the wolf's cone
+    public static final float CONE_ANGLE  = 1.0472f; // Half angle of the wolf's cone
+
+    private static final float PI_2 = 6.28319f;
+
+    final int size;                // Number of rays, ray i is at angle i * 2PI / size
+    final float[] dirX;            // Unit direction of each ray, computed once
+    final float[] dirY;            // Unit direction of each ray, computed once
+    final float[] length;          // Vision length of each ray
+    final float[] hit;             // Distance along each ray to its collision point, RayKernel.MISS if none
+    final boolean[] player;        // Whether each ray's collision point is on the player
+    final float[] endX;            // Where each ray ends, stays put while the wolf drifts until it's recast
+    final float[] endY;            // Where each ray ends, stays put while the wolf drifts until it's recast
+    final float[] fromX;           // Where each ray was last cast from
+    final float[] fromY;           // Where each ray was last cast from
+
+    private final float step;      // Angle between neighbouring rays
+    private float originX;         // x-coordinate every ray starts at
+    private float originY;         // y-coordinate every ray starts at
+    private int coneFirst;         // First ray inside the cone
+    private int coneCount;         // Number of rays inside the cone
+
+
+    /**
+     * Create a batch of evenly spaced rays, all outside the cone until the first aim()
+     *
+     * @param size (int) - Number of rays
+     */
+    public RayBatch(int size){
+        this.size = size;
+        step = PI_2 / size;
+        dirX = new float[size];
+        dirY = new float[size];
+        length = new float[size];
+        hit = new float[size];
+        player = new boolean[size];
+        endX = new float[size];
+        endY = new float[size];
+        fromX = new float[size];
+        fromY = new float[size];
+
+        for(int i = 0; i < size; i++){
+            dirX[i] = (float)Math.cos(i * step);
+            dirY[i] = (float)Math.sin(i * step);
+            length[i] = SIDE_LENGTH;
+            hit[i] = RayKernel.MISS;
+            endX[i] = dirX[i] * SIDE_LENGTH;
+            endY[i] = dirY[i] * SIDE_LENGTH;
+        }
+    }
+
+
+    /**
+     * Move the rays to the wolf and turn the cone to its heading. Only rays entering or leaving the cone change
+     * length, those are reported to the cache.
+     *
+     * @param ox (float)          - x-coordinate of the wolf
+     * @param oy (float)          - y-coordinate of the wolf
+     * @param heading (float)     - Angle the wolf's facing, in [0, 2PI)
+     * @param cache (VisionCache) - Told which rays changed length, may be null
+     */
+    public void aim(float ox, float oy, float heading, VisionCache cache){
+        originX = ox;
+        originY = oy;
+
+        // Rays strictly inside (heading - CONE_ANGLE, heading + CONE_ANGLE)
+        int start = (int)Math.floor((heading - CONE_ANGLE) / step) + 1;
+        int last = (int)Math.ceil((heading + CONE_ANGLE) / step) - 1;
+        int first = ((start % size) + size) % size;
+        int count = Math.min(last - start + 1, size);
+        if(first == coneFirst && count == coneCount) return;
+
+        // Shrink the old cone, grow the new one, then report the rays whose length ended up different
+        for(int k = 0; k < coneCount; k++){ length[(coneFirst + k) % size] = SIDE_LENGTH; }
+        for(int k = 0; k < count; k++){ length[(first + k) % size] = CONE_LENGTH; }
+        if(cache != null){
+            for(int k = 0; k < coneCount; k++){
+                int i = (coneFirst + k) % size;
+                if(length[i] != CONE_LENGTH) cache.invalidateRay(i);
+            }
+            for(int k = 0; k < count; k++){
+                int i = (first + k) % size;
+                if(((i - coneFirst) % size + size) % size >= coneCount) cache.invalidateRay(i);
+            }
+        }
+        coneFirst = first;
+        coneCount = count;
+    }
+
+
+    /**
+     * Draw every ray from the wolf to where it ended when it was last cast. A ray the cache kept while the wolf
+     * drifted still ends on what it hit, it's just drawn at a slightly different angle.
+     *
+     * @param sr (ShapeRenderer) - Draws the rays
+     */
+    public void draw(ShapeRenderer sr){
+        for(int i = 0; i < size; i++){
+            sr.line(originX, originY, endX[i], endY[i]);
+        }
+    }
+
+
+    /**
+     * Get the number of rays
+     *
+     * @return (int) - Number of rays
+     */
+    public int size(){ return size; }
+
+
+    /**
+     * Get the distance along a ray to its collision point
+     *
+     * @param i (int)  - Index of the ray
+     * @return (float) - Distance, RayKernel.MISS if the ray hit nothing
+     */
+    public float getHit(int i){ return hit[i]; }
+
+
+    /**
+     * Get a ray's vision length, longer inside the cone
+     *
+     * @param i (int)  - Index of the ray
+     * @return (float) - CONE_LENGTH or SIDE_LENGTH
+     */
+    public float getLength(int i){ return length[i]; }
+
+
+    /**
+     * Get the x-coordinate a ray ended at when it was last cast
+     *
+     * @param i (int)  - Index of the ray
+     * @return (float) - x-coordinate of the collision point, or of the ray's end if it hit nothing
+     */
+    public float getEndX(int i){ return endX[i]; }
+
+
+    /**
+     * Get the y-coordinate a ray ended at when it was last cast
+     *
+     * @param i (int)  - Index of the ray
+     * @return (float) - y-coordinate of the collision point, or of the ray's end if it hit nothing
+     */
+    public float getEndY(int i){ return endY[i]; }
+
+
+    /**
+     * Get the x-coordinate every ray starts at
+     *
+     * @return (float) - x-coordinate of the origin
+     */
+    public float getOriginX(){ return originX; }
+
+
+    /**
+     * Get the y-coordinate every ray starts at
+     *
+     * @return (float) - y-coordinate of the origin
+     */
+    public float getOriginY(){ return originY; }
+
+
+    /**
+     * Check if an angle is inside the wolf's vision cone
+     *
+     * @param radian (float)  - Angle being checked
+     * @param heading (float) - Angle the wolf's facing
+     * @return (boolean)      - True if within CONE_ANGLE of the heading
+     */
+    public static boolean inCone(float radian, float heading){
+        float diff = (radian - heading) % MathUtils.PI2;
+        if(diff > MathUtils.PI) diff -= MathUtils.PI2;
+        if(diff < -MathUtils.PI) diff += MathUtils.PI2;
+        return diff < CONE_ANGLE && diff > -CONE_ANGLE;
+    }
+}
@@ -0,0 +1,131 @@
+package com.toni.vision;
+
+public final class RayKernel {
+    public static final float MISS = Float.MAX_VALUE; // Returned when a ray misses
+    private static final float SLACK = .0001f;        // Share of an edge a hit can land past either end
+
+    private RayKernel(){ }
+
+
+    /**
+     * Line-line intersection between a ray and a single edge. t and u share the same denominator so they're
+     * computed in one pass.
+     *
+     * @param x1 (float) - x-coordinate of the edge's first endpoint
+     * @param y1 (float) - y-coordinate of the edge's first endpoint
+     * @param x2 (float) - x-coordinate of the edge's second endpoint
+     * @param y2 (float) - y-coordinate of the edge's second endpoint
+     * @param ox (float) - x-coordinate of the ray's origin
+     * @param oy (float) - y-coordinate of the ray's origin
+     * @param dx (float) - x-component of the ray's vision vector
+     * @param dy (float) - y-component of the ray's vision vector
+     * @return (float)   - u, the fraction of the vision vector travelled before the hit, or MISS
+     */
+    public static float intersect(float x1, float y1, float x2, float y2, float ox, float oy, float dx, float dy){
+        return intersectEdge(x1, y1, x2 - x1, y2 - y1, ox, oy, dx, dy);
+    }
+
+
+    /**
+     * Line-line intersection between a ray and an edge whose direction is already known. A hit can land a sliver
+     * past either end of the edge, so a ray through the vertex two edges share can't slip between them on rounding.
+     *
+     * @param x1 (float)    - x-coordinate of the edge's start point
+     * @param y1 (float)    - y-coordinate of the edge's start point
+     * @param edgeX (float) - x-component of the edge, end point minus start point
+     * @param edgeY (float) - y-component of the edge, end point minus start point
+     * @param ox (float)    - x-coordinate of the ray's origin
+     * @param oy (float)    - y-coordinate of the ray's origin
+     * @param dx (float)    - x-component of the ray's vision vector
+     * @param dy (float)    - y-component of the ray's vision vector
+     * @return (float)      - u, the fraction of the vision vector travelled before the hit, or MISS
+     */
+    public static float intersectEdge(float x1, float y1, float edgeX, float edgeY, float ox, float oy, float dx,
+                                      float dy){
+        float ex = -edgeX;
+        float ey = -edgeY;
+        float denominator = ey * dx - ex * dy;
+
+        // Denominator is 0 check
+        if(denominator < .0001f && denominator > -.0001f){ return MISS; }
+
+        float rx = x1 - ox;
+        float ry = y1 - oy;
+        float t = (ry * dx - rx * dy) / denominator;
+        if(t < -SLACK || t > 1 + SLACK){ return MISS; }
+
+        float u = (ey * rx - ex * ry) / denominator;
+        if(u <= 0 || u >= 1){ return MISS; }
+
+        return u;
+    }
+
+
+    /**
+     * Cast a ray against every edge of a closed polygon
+     *
+     * @param sx (float[]) - x vertices of the polygon
+     * @param sy (float[]) - y vertices of the polygon
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the polygon's edges
+     */
+    public static float castPolygon(float[] sx, float[] sy, float ox, float oy, float dx, float dy, float best){
+        return castPolygon(sx, sy, 0, sx.length, ox, oy, dx, dy, best);
+    }
+
+
+    /**
+     * Cast a ray against every edge of a closed polygon stored inside larger arrays
+     *
+     * @param sx (float[]) - x vertices, the polygon's are sx[offset] to sx[offset + count - 1]
+     * @param sy (float[]) - y vertices, same layout as sx
+     * @param offset (int) - Index of the polygon's first vertex
+     * @param count (int)  - Number of vertices in the polygon
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the polygon's edges
+     */
+    public static float castPolygon(float[] sx, float[] sy, int offset, int count, float ox, float oy, float dx, float dy,
+                                    float best){
+        float u;
+        for(int i = offset, j = offset + count - 1; i < offset + count; j = i++){
+            u = intersect(sx[i], sy[i], sx[j], sy[j], ox, oy, dx, dy);
+            if(u < best){ best = u; }
+        }
+        return best;
+    }
+
+
+    /**
+     * Cast a ray against a run of edges with precomputed directions
+     *
+     * @param ex (float[])  - x-coordinates of the edge start points
+     * @param ey (float[])  - y-coordinates of the edge start points
+     * @param edx (float[]) - x-components of the edges
+     * @param edy (float[]) - y-components of the edges
+     * @param offset (int)  - Index of the first edge
+     * @param count (int)   - Number of edges
+     * @param ox (float)    - x-coordinate of the ray's origin
+     * @param oy (float)    - y-coordinate of the ray's origin
+     * @param dx (float)    - x-component of the ray's vision vector
+     * @param dy (float)    - y-component of the ray's vision vector
+     * @param best (float)  - Closest u found so far
+     * @return (float)      - Closest u out of best and the edges
+     */
+    public static float castEdges(float[] ex, float[] ey, float[] edx, float[] edy, int offset, int count, float ox,
+                                  float oy, float dx, float dy, float best){
+        float u;
+        for(int i = offset; i < offset + count; i++){
+            u = intersectEdge(ex[i], ey[i], edx[i], edy[i], ox, oy, dx, dy);
+            if(u < best){ best = u; }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,237 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Vector2;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class RayVisionEngine implements VisionEngine {
+    private static final int CHUNK  = 64;  // Rays cast by each parallel task
+
+    private final int numbRays;         // Number of vision rays
+    private OccluderMesh mesh;          // Tree edges, plus the player as the dynamic layer
+    private RayBatch rays;              // Vision rays
+    private VisionBroadPhase occluders; // Broad phase for vision rays
+    private VisionCache cache;          // Tracks which rays need recasting
+    private Vector2 origin;             // Wolf's position
+
+    private ForkJoinPool pool;          // Pool the rays are cast on, null to cast on the calling thread
+    private RayChunk[] chunks;          // One task per CHUNK rays, reused every frame
+    private Player player;              // Player being cast for, set while the tasks run
+
+
+    /**
+     * Create a fan of evenly spaced vision rays around the wolf, cast on the calling thread
+     *
+     * @param wolf (Wolf)          - Wolf the rays belong to
+     * @param mesh (OccluderMesh) - Occluders the wolf looks through
+     * @param numbRays (int)      - Number of vision rays
+     */
+    public RayVisionEngine(Wolf wolf, OccluderMesh mesh, int numbRays){
+        this(wolf, mesh, numbRays, null);
+    }
+
+
+    /**
+     * Create a fan of evenly spaced vision rays around the wolf, cast in chunks on a ForkJoinPool
+     *
+     * @param wolf (Wolf)         - Wolf the rays belong to
+     * @param mesh (OccluderMesh) - Occluders the wolf looks through
+     * @param numbRays (int)      - Number of vision rays
+     * @param pool (ForkJoinPool) - Pool to cast on, null to cast on the calling thread
+     */
+    public RayVisionEngine(Wolf wolf, OccluderMesh mesh, int numbRays, ForkJoinPool pool){
+        this.numbRays = numbRays;
+        this.mesh = mesh;
+        this.pool = pool;
+        occluders = new AngularCuller(mesh, numbRays, RayBatch.CONE_LENGTH);
+        cache = new VisionCache(numbRays);
+        origin = wolf.pos();
+        rays = new RayBatch(numbRays);
+
+        chunks = new RayChunk[(numbRays + CHUNK - 1) / CHUNK];
+        for(int i = 0; i < chunks.length; i++){
+            chunks[i] = new RayChunk(i * CHUNK, Math.min(numbRays, (i + 1) * CHUNK));
+        }
+    }
+
+
+    /**
+     * Register a newly planted tree with the broad phase and recast the rays that could hit it
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    @Override
+    public void add(int tree){
+        occluders.add(tree);
+        cache.invalidate(origin.x, origin.y, mesh.circleX[tree], mesh.circleY[tree], mesh.circleR[tree]);
+    }
+
+
+    /**
+     * Update every ray and recast the ones the cache marked dirty, each cast writes its collision point into the
+     * ray. With a pool the rays are split into chunks that only touch their own rays, and their results are reduced
+     * into a single answer. A kept ray counts with the player flag from when it was last cast.
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if any ray hit the player first
+     */
+    @Override
+    public boolean update(Wolf wolf, Player player){
+        cache.begin(wolf, player);
+
+        // Rays that changed length as the cone turned need recasting, and the kept ones that could've slipped past an
+        // edge as the wolf drifted
+        rays.aim(wolf.pos().x, wolf.pos().y, wolf.radians(), cache);
+        cache.reproject(rays);
+
+        // Nothing to cast, the kept rays' flags still need reducing but there's no point forking for it
+        boolean playerVisible;
+        if(cache.getDirtyCount() == 0){
+            playerVisible = castRange(0, numbRays, player);
+        } else {
+            mesh.setDynamic(player.getShapex(), player.getShapey());
+            occluders.prepare(wolf.pos().x, wolf.pos().y);
+            if(pool == null){
+                playerVisible = castRange(0, numbRays, player);
+            } else {
+                this.player = player;
+                playerVisible = castAll();
+                this.player = null;
+            }
+        }
+        cache.end();
+        return playerVisible;
+    }
+
+
+    /**
+     * Draw every vision ray
+     *
+     * @param sr (ShapeRenderer) - Draws the rays
+     */
+    @Override
+    public void draw(ShapeRenderer sr){
+        rays.draw(sr);
+    }
+
+
+    /**
+     * Fork every chunk but the first onto the pool and cast the first here, then reduce the chunks' results. The
+     * calling thread yields until the forked chunks are done rather than blocking in join(), a thread outside the
+     * pool that blocks there allocates a wait node each time on newer JVMs.
+     *
+     * @return (boolean) - True if any ray hit the player first
+     */
+    private boolean castAll(){
+        for(int i = 1; i < chunks.length; i++){
+            chunks[i].reinitialize();
+            pool.execute(chunks[i]);
+        }
+        chunks[0].reinitialize();
+        boolean playerVisible = chunks[0].invoke();
+
+        // Joining a chunk that's done only reads its result
+        for(int i = 1; i < chunks.length; i++){
+            while(!chunks[i].isDone()){ Thread.yield(); }
+            if(chunks[i].join()){ playerVisible = true; }
+        }
+        return playerVisible;
+    }
+
+
+    /**
+     * Cast the dirty rays in a range, the kept ones count with the player flag from their last cast
+     *
+     * @param from (int)      - First ray
+     * @param to (int)        - One past the last ray
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if any ray in the range hit the player first
+     */
+    private boolean castRange(int from, int to, Player player){
+        boolean playerVisible = false;
+        for(int i = from; i < to; i++){
+            if(cache.isDirty(i) ? cast(i, player) : rays.player[i]){ playerVisible = true; }
+        }
+        return playerVisible;
+    }
+
+
+    /**
+     * Check to see if the ray intersects with a GameObject, the hit distance is written into the batch
+     *
+     * @param index (int)     - Index of the ray being checked for line intersection
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if the player's the closest thing the ray hit
+     */
+    private boolean cast(int index, Player player){
+        float ox = rays.getOriginX(), oy = rays.getOriginY(); // Ray origin
+        float dx = rays.dirX[index] * rays.length[index];     // Ray vision vector
+        float dy = rays.dirY[index] * rays.length[index];     // Ray vision vector
+        float closest;                                        // Closest fraction of the vision vector
+        float playerHit;                                      // Closest fraction that hit the player
+
+        // Check the ray against the walls the broad phase hands it
+        closest = occluders.cast(index, ox, oy, dx, dy, RayKernel.MISS);
+
+        // Check the ray against the player
+        playerHit = mesh.castDynamic(ox, oy, dx, dy, closest);
+        rays.player[index] = playerHit < closest;
+        if(playerHit < closest) closest = playerHit;
+
+        rays.hit[index] = closest == RayKernel.MISS ? RayKernel.MISS : closest * rays.length[index];
+        if(closest == RayKernel.MISS) closest = 1;
+        rays.endX[index] = ox + closest * dx;
+        rays.endY[index] = oy + closest * dy;
+        rays.fromX[index] = ox;
+        rays.fromY[index] = oy;
+        return rays.player[index];
+    }
+
+
+    /**
+     * Get the vision cache, for its reuse and recast counts
+     *
+     * @return (VisionCache) - Cache deciding which rays are recast
+     */
+    public VisionCache getCache(){ return cache; }
+
+
+    /**
+     * Get the vision rays
+     *
+     * @return (RayBatch) - Vision rays, hit distances are from the last update
+     */
+    public RayBatch getRays(){ return rays; }
+
+
+    /**
+     * Casts the dirty rays in a fixed range, only writing to those rays
+     */
+    private final class RayChunk extends RecursiveTask<Boolean> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to; // Range of rays
+
+
+        /**
+         * Create a chunk for a range of rays
+         *
+         * @param from (int) - First ray
+         * @param to (int)   - One past the last ray
+         */
+        RayChunk(int from, int to){
+            this.from = from;
+            this.to = to;
+        }
+
+
+        @Override
+        protected Boolean compute(){ return castRange(from, to, player); }
+    }
+
+}
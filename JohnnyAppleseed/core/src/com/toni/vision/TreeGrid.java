@@ -0,0 +1,207 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.utils.IntArray;
+
+public class TreeGrid implements VisionBroadPhase {
+    private static final int CELL_TREES = 16;  // Room in each cell before it grows, a full forest seldom needs more
+
+    private final OccluderMesh mesh;   // Tree edges & bounding circles, indexed by tree id
+    private final float cellSize;      // Width & height of a cell
+    private final float originX;       // x-coordinate of the grid's bottom left corner
+    private final float originY;       // y-coordinate of the grid's bottom left corner
+    private final int cols;            // Number of cell columns
+    private final int rows;            // Number of cell rows
+    private final IntArray[] cells;    // Ids of the trees overlapping each cell, indexed by row * cols + col
+    private int lastHit;               // Tree the last cast hit, -1 if it hit nothing new
+
+
+    /**
+     * Build an empty grid over the stage, padded by a cell on every side so tree octagons near the border still
+     * fall inside the grid
+     *
+     * @param mesh (OccluderMesh) - Tree edges & bounding circles
+     * @param width (float)       - Stage width
+     * @param height (float)      - Stage height
+     * @param cellSize (float)    - Width & height of a cell, should be larger than a tree's radius
+     */
+    public TreeGrid(OccluderMesh mesh, float width, float height, float cellSize){
+        this.mesh = mesh;
+        this.cellSize = cellSize;
+        originX = -cellSize;
+        originY = -cellSize;
+        cols = (int)Math.ceil(width / cellSize) + 2;
+        rows = (int)Math.ceil(height / cellSize) + 2;
+
+        cells = new IntArray[cols * rows];
+        for(int i = 0; i < cells.length; i++){
+            cells[i] = new IntArray(false, CELL_TREES);
+        }
+    }
+
+
+    /**
+     * Register a tree in every cell its bounding box overlaps, the box around its bounding circle. The tree has to be
+     * in the mesh already.
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    @Override
+    public void add(int tree){
+        float minX = mesh.circleX[tree] - mesh.circleR[tree], maxX = mesh.circleX[tree] + mesh.circleR[tree];
+        float minY = mesh.circleY[tree] - mesh.circleR[tree], maxY = mesh.circleY[tree] + mesh.circleR[tree];
+
+        int c0 = col(minX), c1 = col(maxX);
+        int r0 = row(minY), r1 = row(maxY);
+        for(int r = r0; r <= r1; r++){
+            for(int c = c0; c <= c1; c++){
+                cells[r * cols + c].add(tree);
+            }
+        }
+    }
+
+
+    /**
+     * Collect the trees whose bounding boxes overlap a box. Each tree is reported once, from the first cell it
+     * shares with the box, so the result has no duplicates.
+     *
+     * @param minX (float)      - Left edge of the box
+     * @param minY (float)      - Bottom edge of the box
+     * @param maxX (float)      - Right edge of the box
+     * @param maxY (float)      - Top edge of the box
+     * @param out (IntArray)  - Ids of the trees overlapping the box are added to it, it isn't cleared first
+     */
+    public void query(float minX, float minY, float maxX, float maxY, IntArray out){
+        int c0 = col(minX), c1 = col(maxX);
+        int r0 = row(minY), r1 = row(maxY);
+        float treeMinX, treeMinY;
+        IntArray cell;
+        for(int r = r0; r <= r1; r++){
+            for(int c = c0; c <= c1; c++){
+                cell = cells[r * cols + c];
+                for(int i = 0; i < cell.size; i++){
+                    int tree = cell.items[i];
+                    treeMinX = mesh.circleX[tree] - mesh.circleR[tree];
+                    treeMinY = mesh.circleY[tree] - mesh.circleR[tree];
+                    if(treeMinX > maxX || mesh.circleX[tree] + mesh.circleR[tree] < minX) continue;
+                    if(treeMinY > maxY || mesh.circleY[tree] + mesh.circleR[tree] < minY) continue;
+                    if(Math.max(col(treeMinX), c0) == c && Math.max(row(treeMinY), r0) == r){ out.add(tree); }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Remove every tree from the grid
+     */
+    public void clear(){
+        for(int i = 0; i < cells.length; i++){
+            cells[i].clear();
+        }
+    }
+
+
+    // Not needed, the grid only changes when a tree is added
+    @Override
+    public void prepare(float ox, float oy){ }
+
+
+    /**
+     * Walk the cells along a ray (DDA traversal) and cast against the trees in each cell. The walk stops at the
+     * first cell whose own stretch of the ray contains the closest hit, since no tree further along can be closer.
+     *
+     * @param ray (int)    - Index of the ray, unused
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the trees along the ray, RayKernel.MISS if nothing was hit
+     */
+    @Override
+    public float cast(int ray, float ox, float oy, float dx, float dy, float best){
+        int c = col(ox);
+        int r = row(oy);
+        int stepC = dx > 0 ? 1 : -1;
+        int stepR = dy > 0 ? 1 : -1;
+
+        // Fraction of the vision vector needed to cross a whole cell
+        float deltaU = dx != 0 ? cellSize / Math.abs(dx) : RayKernel.MISS;
+        float deltaV = dy != 0 ? cellSize / Math.abs(dy) : RayKernel.MISS;
+
+        // Fraction of the vision vector at which the ray crosses the next column & row boundary
+        float nextU = RayKernel.MISS;
+        float nextV = RayKernel.MISS;
+        if(dx > 0) nextU = (originX + (c + 1) * cellSize - ox) / dx;
+        if(dx < 0) nextU = (originX + c * cellSize - ox) / dx;
+        if(dy > 0) nextV = (originY + (r + 1) * cellSize - oy) / dy;
+        if(dy < 0) nextV = (originY + r * cellSize - oy) / dy;
+
+        float exit, u;
+        IntArray cell;
+        lastHit = -1;
+        while(true){
+            // Cast against every tree in the cell
+            cell = cells[r * cols + c];
+            for(int i = 0; i < cell.size; i++){
+                int tree = cell.items[i];
+                u = mesh.castOccluder(tree, ox, oy, dx, dy, best);
+                if(u < best){
+                    best = u;
+                    lastHit = tree;
+                }
+            }
+
+            // Closest hit is inside this cell, or the ray ends inside this cell
+            exit = Math.min(nextU, nextV);
+            if(best <= exit || exit >= 1){ return best; }
+
+            // Step into the next cell
+            if(nextU < nextV){
+                c += stepC;
+                nextU += deltaU;
+                if(c < 0 || c >= cols){ return best; }
+            } else {
+                r += stepR;
+                nextV += deltaV;
+                if(r < 0 || r >= rows){ return best; }
+            }
+        }
+    }
+
+
+    /**
+     * Get the tree the last cast hit, only valid on the thread that cast
+     *
+     * @return (int) - Id of the tree closest along the last ray, -1 if no tree beat the best passed in
+     */
+    public int getLastHit(){ return lastHit; }
+
+
+    /**
+     * Column containing an x-coordinate, clamped to the grid
+     *
+     * @param x (float) - x-coordinate
+     * @return (int)    - Column index
+     */
+    private int col(float x){
+        int c = (int)Math.floor((x - originX) / cellSize);
+        if(c < 0) return 0;
+        if(c >= cols) return cols - 1;
+        return c;
+    }
+
+
+    /**
+     * Row containing a y-coordinate, clamped to the grid
+     *
+     * @param y (float) - y-coordinate
+     * @return (int)    - Row index
+     */
+    private int row(float y){
+        int r = (int)Math.floor((y - originY) / cellSize);
+        if(r < 0) return 0;
+        if(r >= rows) return rows - 1;
+        return r;
+    }
+}
@@ -0,0 +1,34 @@
+package com.toni.vision;
+
+public interface VisionBroadPhase {
+
+    /**
+     * Register a newly planted tree
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    void add(int tree);
+
+
+    /**
+     * Prepare for a new set of rays, called once per frame before any cast
+     *
+     * @param ox (float) - x-coordinate the rays are cast from
+     * @param oy (float) - y-coordinate the rays are cast from
+     */
+    void prepare(float ox, float oy);
+
+
+    /**
+     * Cast a vision ray against the trees
+     *
+     * @param ray (int)    - Index of the ray, its angle is ray * 2PI / number of rays
+     * @param ox (float)   - x-coordinate of the ray's origin
+     * @param oy (float)   - y-coordinate of the ray's origin
+     * @param dx (float)   - x-component of the ray's vision vector
+     * @param dy (float)   - y-component of the ray's vision vector
+     * @param best (float) - Closest u found so far
+     * @return (float)     - Closest u out of best and the trees, RayKernel.MISS if nothing was hit
+     */
+    float cast(int ray, float ox, float oy, float dx, float dy, float best);
+}
@@ -0,0 +1,333 @@
+package com.toni.vision;
+
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+import java.util.Arrays;
+
+public class VisionCache {
+    private static final float PI_2  = 6.28319f;
+    private static final float DRIFT = 8f;      // Default drift before every ray is recast, just over a top speed frame
+    private static final float BREAK = 4f;      // Times further apart than a flat facing surface's ends are a break
+    private static final float SLACK = .01f;    // Pixels an end can be off its neighbours' line, and the wolf in front
+
+    private final int numbRays;     // Number of rays spread evenly around the circle
+    private final float step;       // Angle between neighbouring rays
+
+    private boolean[] dirty;        // Rays that need recasting this frame
+    private int dirtyCount;         // Number of dirty rays
+
+    private float drift;            // Distance the wolf can drift before every ray is recast
+    private boolean anchored;       // Whether a full cast has happened yet
+    private float anchorX, anchorY; // Wolf's position at the last full cast
+    private float lastX, lastY;     // Wolf's position last frame
+    private boolean moved;          // Whether the wolf moved since last frame without a full cast
+
+    private float[] playerX;        // Player's vertices when last cast
+    private float[] playerY;        // Player's vertices when last cast
+    private float playerCx;         // Centre of the player's bounding circle when last cast
+    private float playerCy;         // Centre of the player's bounding circle when last cast
+    private float playerRadius;     // Radius of the player's bounding circle when last cast
+
+    private long reuseCount;        // Frames where every ray was reused
+    private long partialCount;      // Frames where only some rays were recast
+    private long fullCount;         // Frames where every ray was recast
+    private long recastCount;       // Rays recast over every frame
+
+
+    /**
+     * Create a cache for an evenly spaced fan of rays, every ray starts dirty
+     *
+     * @param numbRays (int) - Number of rays, ray i is at angle i * 2PI / numbRays
+     */
+    public VisionCache(int numbRays){
+        this.numbRays = numbRays;
+        step = PI_2 / numbRays;
+        drift = DRIFT;
+        dirty = new boolean[numbRays];
+        playerX = new float[0];
+        playerY = new float[0];
+        invalidateAll();
+    }
+
+
+    /**
+     * Start a frame. Everything is recast when the wolf drifted too far from the last full cast, otherwise only the
+     * rays around the player's old and new position are when the player moved. Rays kept while the wolf drifts are
+     * re-projected, they're drawn from where the wolf is to where they ended, and reproject() recasts the ones that
+     * could have slipped past an edge.
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     */
+    public void begin(Wolf wolf, Player player){
+        float ox = wolf.pos().x, oy = wolf.pos().y;
+
+        // Wolf moved too far, nothing can be reused
+        moved = anchored && (ox != lastX || oy != lastY);
+        if(!anchored || (ox - anchorX) * (ox - anchorX) + (oy - anchorY) * (oy - anchorY) > drift * drift){
+            anchored = true;
+            anchorX = ox;
+            anchorY = oy;
+            moved = false;
+            invalidateAll();
+        }
+        lastX = ox;
+        lastY = oy;
+
+        // Player moved, recast the rays that could see either polygon
+        float[] sx = player.getShapex(), sy = player.getShapey();
+        if(!Arrays.equals(sx, playerX) || !Arrays.equals(sy, playerY)){
+            if(playerX.length > 0) invalidate(ox, oy, playerCx, playerCy, playerRadius);
+
+            if(playerX.length != sx.length){
+                playerX = new float[sx.length];
+                playerY = new float[sy.length];
+            }
+            System.arraycopy(sx, 0, playerX, 0, sx.length);
+            System.arraycopy(sy, 0, playerY, 0, sy.length);
+
+            playerCx = player.pos().x;
+            playerCy = player.pos().y;
+            playerRadius = 0;
+            for(int i = 0; i < sx.length; i++){
+                float d = (sx[i] - playerCx) * (sx[i] - playerCx) + (sy[i] - playerCy) * (sy[i] - playerCy);
+                if(d > playerRadius) playerRadius = d;
+            }
+            playerRadius = (float)Math.sqrt(playerRadius);
+            invalidate(ox, oy, playerCx, playerCy, playerRadius);
+        }
+    }
+
+
+    /**
+     * Recast the kept rays that may no longer end on what's in front of the wolf after it drifted. Neighbouring rays
+     * whose ends are much further apart than on a flat facing surface straddle an edge, a tree's side or the end of
+     * a ray that hit nothing, as do a ray that hit something and one that didn't. Seen from somewhere else that edge
+     * turns round by up to asin(2 * shift / distance) to the nearer end, half for the edge's bearing and half for the
+     * tangent sliding round the tree, where the shift's the furthest any kept ray was cast from here. The end may
+     * have been seen from any of those points, so its distance is taken as its distance from here less the shift.
+     * Every ray that could have crossed it is recast. A surface that turned its back moves its tree's outline the
+     * same way, so it's treated as an edge too unless the wolf's still in front of it, and the surface is only known
+     * where a ray's neighbours ended on the same straight edge.
+     * Call once the rays are aimed this frame.
+     *
+     * @param rays (RayBatch) - Rays, their ends from when they were last cast
+     */
+    public void reproject(RayBatch rays){
+        if(!moved || dirtyCount == numbRays) return;
+
+        // A break can be crossed by any kept ray near it, not just the two either side, so it's spread by the
+        // furthest any kept ray was cast from here
+        float ox = rays.getOriginX(), oy = rays.getOriginY();
+        float shift = 0;
+        for(int i = 0; i < numbRays; i++){
+            if(!dirty[i]) shift = Math.max(shift, distance(rays, i, ox, oy));
+        }
+        if(shift == 0) return;
+
+        for(int i = 0; i < numbRays; i++){
+            int j = i + 1 == numbRays ? 0 : i + 1;
+            boolean turned = !dirty[i] && !facing(rays, i == 0 ? numbRays - 1 : i - 1, i, j, ox, oy);
+
+            float ax = rays.endX[i] - ox, ay = rays.endY[i] - oy, bx = rays.endX[j] - ox, by = rays.endY[j] - oy;
+            float da = (float)Math.sqrt(ax * ax + ay * ay), db = (float)Math.sqrt(bx * bx + by * by);
+            float gap = (float)Math.sqrt((bx - ax) * (bx - ax) + (by - ay) * (by - ay));
+            boolean edge = (rays.hit[i] == RayKernel.MISS) != (rays.hit[j] == RayKernel.MISS);
+            if(turned || edge || gap > BREAK * step * Math.max(da, db) + 1){
+                float near = Math.min(da, db) - shift;
+                if(near <= 2 * shift){
+                    invalidateAll();
+                    return;
+                }
+                int spread = (int)Math.ceil(Math.asin(2 * shift / near) / step);
+                for(int k = i - spread; k <= j + spread; k++){
+                    invalidateRay(((k % numbRays) + numbRays) % numbRays);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check if the wolf's still in front of the surface a kept ray ended on. A ray that hit nothing has no surface.
+     * Otherwise the surface is only known if both neighbours hit the same straight edge, three ends on a line, and
+     * the wolf has to be on the side of it the ray was cast from.
+     *
+     * @param rays (RayBatch) - Rays, their ends from when they were last cast
+     * @param h (int)         - Index of the ray before
+     * @param i (int)         - Index of the kept ray
+     * @param j (int)         - Index of the ray after
+     * @param ox (float)      - x-coordinate of the wolf
+     * @param oy (float)      - y-coordinate of the wolf
+     * @return (boolean)      - True if the ray can be kept
+     */
+    private static boolean facing(RayBatch rays, int h, int i, int j, float ox, float oy){
+        if(rays.hit[i] == RayKernel.MISS) return true;
+        if(rays.hit[h] == RayKernel.MISS || rays.hit[j] == RayKernel.MISS) return false;
+
+        float lx = rays.endX[j] - rays.endX[h], ly = rays.endY[j] - rays.endY[h];
+        float length = (float)Math.sqrt(lx * lx + ly * ly);
+        if(length == 0) return false;
+
+        // Distances from the line through the neighbours' ends, positive on the side the ray was cast from
+        float side = lx * (rays.fromY[i] - rays.endY[h]) - ly * (rays.fromX[i] - rays.endX[h]) > 0 ? 1 : -1;
+        float off = side * (lx * (rays.endY[i] - rays.endY[h]) - ly * (rays.endX[i] - rays.endX[h])) / length;
+        float wolf = side * (lx * (oy - rays.endY[h]) - ly * (ox - rays.endX[h])) / length;
+        return off < SLACK && off > -SLACK && wolf > SLACK;
+    }
+
+
+    /**
+     * Get how far a ray was last cast from a point
+     *
+     * @param rays (RayBatch) - Rays
+     * @param i (int)         - Index of the ray
+     * @param x (float)       - x-coordinate of the point
+     * @param y (float)       - y-coordinate of the point
+     * @return (float)        - Distance
+     */
+    private static float distance(RayBatch rays, int i, float x, float y){
+        float dx = rays.fromX[i] - x, dy = rays.fromY[i] - y;
+        return (float)Math.sqrt(dx * dx + dy * dy);
+    }
+
+
+    /**
+     * Finish a frame, record how much was reused and clear the dirty rays
+     */
+    public void end(){
+        if(dirtyCount == 0){
+            reuseCount++;
+        } else if(dirtyCount == numbRays){
+            fullCount++;
+        } else {
+            partialCount++;
+        }
+        recastCount += dirtyCount;
+        Arrays.fill(dirty, false);
+        dirtyCount = 0;
+    }
+
+
+    /**
+     * Mark every ray dirty
+     */
+    public void invalidateAll(){
+        Arrays.fill(dirty, true);
+        dirtyCount = numbRays;
+    }
+
+
+    /**
+     * Mark a single ray dirty
+     *
+     * @param ray (int) - Index of the ray
+     */
+    public void invalidateRay(int ray){
+        if(dirty[ray]) return;
+        dirty[ray] = true;
+        dirtyCount++;
+    }
+
+
+    /**
+     * Mark every ray that could reach a circle dirty. The circle is grown by the drift since cached rays may have
+     * been cast from slightly elsewhere.
+     *
+     * @param ox (float)     - x-coordinate the rays are cast from
+     * @param oy (float)     - y-coordinate the rays are cast from
+     * @param cx (float)     - x-coordinate of the circle's centre
+     * @param cy (float)     - y-coordinate of the circle's centre
+     * @param radius (float) - Radius of the circle
+     */
+    public void invalidate(float ox, float oy, float cx, float cy, float radius){
+        float dx = cx - ox, dy = cy - oy;
+        float dist = (float)Math.sqrt(dx * dx + dy * dy);
+        radius += drift;
+
+        if(dist - radius >= RayBatch.CONE_LENGTH) return;
+        if(dist <= radius){
+            invalidateAll();
+            return;
+        }
+
+        // Rays within asin(r / d) of the direction to the circle, padded by a ray on each side for rounding
+        float center = (float)Math.atan2(dy, dx);
+        float half = (float)Math.asin(radius / dist);
+        int first = (int)Math.floor((center - half) / step) - 1;
+        int last = (int)Math.ceil((center + half) / step) + 1;
+        for(int i = first; i <= last && i - first < numbRays; i++){
+            invalidateRay(((i % numbRays) + numbRays) % numbRays);
+        }
+    }
+
+
+    /**
+     * Set how far the wolf can drift from the last full cast before every ray is recast. A further drift keeps rays
+     * longer but reproject() recasts wider bands round every edge, benchmarks' VisionCacheDrift weighs the two.
+     *
+     * @param drift (float) - Distance in pixels, 0 recasts every ray whenever the wolf moves
+     */
+    public void setDrift(float drift){
+        this.drift = drift;
+        anchored = false;
+    }
+
+
+    /**
+     * Get how far the wolf can drift from the last full cast before every ray is recast
+     *
+     * @return (float) - Distance in pixels
+     */
+    public float getDrift(){ return drift; }
+
+
+    /**
+     * Check if a ray needs recasting this frame
+     *
+     * @param ray (int)  - Index of the ray
+     * @return (boolean) - True if the ray's dirty
+     */
+    public boolean isDirty(int ray){ return dirty[ray]; }
+
+
+    /**
+     * Get the number of rays that need recasting this frame
+     *
+     * @return (int) - Number of dirty rays
+     */
+    public int getDirtyCount(){ return dirtyCount; }
+
+
+    /**
+     * Get the number of frames where every ray was reused
+     *
+     * @return (long) - Reuse count
+     */
+    public long getReuseCount(){ return reuseCount; }
+
+
+    /**
+     * Get the number of frames where only some rays were recast
+     *
+     * @return (long) - Partial recast count
+     */
+    public long getPartialRecastCount(){ return partialCount; }
+
+
+    /**
+     * Get the number of frames where every ray was recast
+     *
+     * @return (long) - Full recast count
+     */
+    public long getFullRecastCount(){ return fullCount; }
+
+
+    /**
+     * Get the number of rays recast over every frame
+     *
+     * @return (long) - Recast ray count
+     */
+    public long getRecastRayCount(){ return recastCount; }
+}
@@ -0,0 +1,33 @@
+package com.toni.vision;
+
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.toni.entities.Player;
+import com.toni.entities.Wolf;
+
+public interface VisionEngine {
+
+    /**
+     * Register a newly planted tree as an occluder
+     *
+     * @param tree (int) - Id of the tree in the forest
+     */
+    void add(int tree);
+
+
+    /**
+     * Work out what the wolf can see this frame
+     *
+     * @param wolf (Wolf)     - Wolf doing the looking
+     * @param player (Player) - Player the wolf is looking for
+     * @return (boolean)      - True if the player's visible to the wolf
+     */
+    boolean update(Wolf wolf, Player player);
+
+
+    /**
+     * Draw the wolf's vision, called between sr.begin() and sr.end()
+     *
+     * @param sr (ShapeRenderer) - Draws the vision
+     */
+    void draw(ShapeRenderer sr);
+}
@@ -3,9 +3,24 @@ package com.toni.desktop;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.toni.Game;
+import com.toni.GameConfig;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
 
 public class DesktopLauncher {
-	public static void main (String[] arg) {
+
+	/**
+	 * Start the game. With no arguments it's a normal game. Stress mode starts with --stress, followed by any of
+	 * trees=N wolves=N rays=N seed=N log=SECONDS, or with --config=FILE naming a properties file with the same keys.
+	 * Arguments after --config override the file.
+	 *
+	 * @param arg (String[]) - Command line arguments
+	 * @throws IOException   - If the config file can't be read
+	 */
+	public static void main (String[] arg) throws IOException {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.title = "Johnny Appleseed"; // Set title
 		config.width = 1100;               // Set width
@@ -13,6 +28,28 @@ public class DesktopLauncher {
 		config.useGL30 = false;            // Not using GL30
 		config.resizable = false;          // Stage's not resizable
 
-		new LwjglApplication(new Game(), config);
+		GameConfig game = new GameConfig();
+		boolean stress = false;
+		Properties props = new Properties();
+		for(String a: arg){
+			if(a.equals("--stress")){
+				stress = true;
+			} else if(a.startsWith("--config=")){
+				stress = true;
+				try(Reader in = new FileReader(a.substring("--config=".length()))){ props.load(in); }
+			} else if(a.indexOf('=') > 0){
+				props.setProperty(a.substring(0, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+			}
+		}
+
+		if(stress){
+			game = GameConfig.stress(props);
+			config.title += " (stress)";
+			config.vSyncEnabled = false;   // Frame times aren't hidden by waiting for the display
+			config.foregroundFPS = 0;      // No frame cap
+			config.backgroundFPS = 0;      // Keep measuring when the window loses focus
+		}
+
+		new LwjglApplication(new Game(game), config);
 	}
 }